@@ -0,0 +1,98 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+/**
+ * Adds a fixed latency to uploads and deletes, standing in for the blocking
+ * HTTP round-trips of GcsStorageServiceImpl while storing files locally.
+ * URL resolution is not delayed: signed URLs are minted and cached in-process.
+ */
+class DelayedStorageService implements StorageService {
+
+	private final StorageService delegate;
+
+	private final Duration latency;
+
+	DelayedStorageService(StorageService delegate, Duration latency) {
+		this.delegate = delegate;
+		this.latency = latency;
+	}
+
+	@Override
+	public String uploadFile(MultipartFile file, String folder) {
+		pause();
+		return delegate.uploadFile(file, folder);
+	}
+
+	@Override
+	public byte[] startUpload(String folder, String uploadId, String contentType) {
+		pause();
+		return delegate.startUpload(folder, uploadId, contentType);
+	}
+
+	@Override
+	public UploadProgress appendUpload(byte[] state, long offset, InputStream in, long maxBytes) {
+		pause();
+		return delegate.appendUpload(state, offset, in, maxBytes);
+	}
+
+	@Override
+	public String completeUpload(byte[] state, String folder, String extension) {
+		pause();
+		return delegate.completeUpload(state, folder, extension);
+	}
+
+	@Override
+	public void abortUpload(byte[] state) {
+		pause();
+		delegate.abortUpload(state);
+	}
+
+	@Override
+	public void deleteFile(String key) {
+		pause();
+		delegate.deleteFile(key);
+	}
+
+	@Override
+	public long purgeFiles(Collection<String> keys) {
+		// One batch call, one round-trip
+		pause();
+		return delegate.purgeFiles(keys);
+	}
+
+	@Override
+	public List<StoredFile> listFiles(String folder) {
+		pause();
+		return delegate.listFiles(folder);
+	}
+
+	@Override
+	public String resolveUrl(String key) {
+		return delegate.resolveUrl(key);
+	}
+
+	@Override
+	public Map<String, String> resolveUrls(Collection<String> keys) {
+		return delegate.resolveUrls(keys);
+	}
+
+	private void pause() {
+		try {
+			Thread.sleep(latency);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while simulating storage latency", ex);
+		}
+	}
+
+}
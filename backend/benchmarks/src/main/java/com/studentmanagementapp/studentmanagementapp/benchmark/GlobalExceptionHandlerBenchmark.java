@@ -0,0 +1,104 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.exception.GlobalExceptionHandler;
+import com.studentmanagementapp.studentmanagementapp.exception.ResourceNotFoundException;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Error-body construction in GlobalExceptionHandler for the common 4xx paths,
+ * with and without writing the body as JSON. The exceptions are built once so
+ * only the handler (and serializer) is measured, not stack-trace capture.
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec -Dbenchmark.args="GlobalExceptionHandlerBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+	private final ObjectMapper mapper = JsonMapper.builder().build();
+
+	private ResourceNotFoundException notFound;
+
+	private IllegalArgumentException badRequest;
+
+	private MethodArgumentNotValidException invalid;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		notFound = new ResourceNotFoundException("Student not found with id: 42");
+		badRequest = new IllegalArgumentException("A student with contact '0771234567' already exists.");
+
+		StudentDTO dto = new StudentDTO();
+		BeanPropertyBindingResult errors = new BeanPropertyBindingResult(dto, "studentDTO");
+		errors.addError(field("fName", "First name is required"));
+		errors.addError(field("lName", "Last name is required"));
+		errors.addError(field("contact", "Contact number is required"));
+		errors.addError(field("address", "Address is required"));
+		MethodParameter parameter = new MethodParameter(
+				GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", StudentDTO.class), 0);
+		invalid = new MethodArgumentNotValidException(parameter, errors);
+	}
+
+	@Benchmark
+	public ResponseEntity<Map<String, Object>> notFound() {
+		return handler.handleNotFound(notFound);
+	}
+
+	@Benchmark
+	public ResponseEntity<Map<String, Object>> illegalArgument() {
+		return handler.handleIllegalArg(badRequest);
+	}
+
+	@Benchmark
+	public ResponseEntity<Map<String, Object>> validation() {
+		return handler.handleValidation(invalid);
+	}
+
+	@Benchmark
+	public byte[] notFoundToJson() {
+		return mapper.writeValueAsBytes(handler.handleNotFound(notFound).getBody());
+	}
+
+	@Benchmark
+	public byte[] validationToJson() {
+		return mapper.writeValueAsBytes(handler.handleValidation(invalid).getBody());
+	}
+
+	private static FieldError field(String name, String message) {
+		return new FieldError("studentDTO", name, null, false, new String[] { "NotBlank" }, null, message);
+	}
+
+	/** Stand-in for a controller method whose argument failed validation. */
+	@SuppressWarnings("unused")
+	private void target(StudentDTO student) {
+	}
+
+}
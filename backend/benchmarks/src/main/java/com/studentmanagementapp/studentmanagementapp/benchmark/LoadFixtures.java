@@ -0,0 +1,81 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Request bodies shared by the load tests: the multipart form the student
+ * endpoints accept and sample pictures to upload with it.
+ */
+final class LoadFixtures {
+
+	private static final String BOUNDARY = "----load-test-boundary";
+
+	private LoadFixtures() {
+	}
+
+	/**
+	 * A POST or PUT of the student form, as the frontend sends it.
+	 * @param fields name/value pairs (fName, lName, contact, address)
+	 * @param image PNG to send as profileImage, or null for none
+	 */
+	static HttpRequest studentForm(String method, URI uri, String[][] fields, byte[] image) {
+		return HttpRequest.newBuilder(uri)
+			.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+			.method(method, HttpRequest.BodyPublishers.ofByteArray(multipart(fields, image)))
+			.build();
+	}
+
+	/** Distinct PNGs, so uploads do not all collapse onto one stored object. */
+	static List<byte[]> pictures(int count, int edge) {
+		List<byte[]> images = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			BufferedImage image = new BufferedImage(edge, edge, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = image.createGraphics();
+			g.setColor(Color.getHSBColor(i / (float) count, 0.6f, 0.9f));
+			g.fillRect(0, 0, edge, edge);
+			g.dispose();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try {
+				ImageIO.write(image, "png", out);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			images.add(out.toByteArray());
+		}
+		return images;
+	}
+
+	private static byte[] multipart(String[][] fields, byte[] image) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream((image != null ? image.length : 0) + 1024);
+		for (String[] field : fields) {
+			write(out, "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + field[0]
+					+ "\"\r\nContent-Type: text/plain; charset=UTF-8\r\n\r\n" + field[1] + "\r\n");
+		}
+		if (image != null) {
+			write(out, "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"profileImage\"; filename=\"p.png\""
+					+ "\r\nContent-Type: image/png\r\n\r\n");
+			out.writeBytes(image);
+			write(out, "\r\n");
+		}
+		write(out, "--" + BOUNDARY + "--\r\n");
+		return out.toByteArray();
+	}
+
+	private static void write(ByteArrayOutputStream out, String text) {
+		out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
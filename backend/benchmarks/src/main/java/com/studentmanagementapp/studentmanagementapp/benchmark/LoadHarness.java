@@ -0,0 +1,447 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.studentmanagementapp.studentmanagementapp.StudentmanagementappApplication;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Open-loop load generator for /api/v1/students with latency percentiles
+ * corrected for coordinated omission.
+ *
+ * The application is booted on the local profile against an in-memory H2
+ * database and a temporary upload directory, and seeded with load.seed-rows
+ * students. Requests are then issued on a fixed schedule of load.rate per
+ * second, whatever the server's response time, with the operation of each
+ * slot drawn from load.mix. Response time is measured from a request's
+ * scheduled start rather than from when it was actually sent, so a server
+ * stall is charged to every request it held back. A closed-loop client cannot
+ * see that delay, which is the coordinated-omission problem. Service time,
+ * measured from the actual send, is reported alongside.
+ *
+ * Results are printed and written as JSON to load.out (default
+ * target/load-results/load-&lt;timestamp&gt;.json), including the git commit,
+ * so runs can be diffed between commits.
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec \
+ *     -Dbenchmark.main=com.studentmanagementapp.studentmanagementapp.benchmark.LoadHarness \
+ *     -Dbenchmark.jvmArgs="-Dload.rate=300 -Dload.seconds=60 -Dload.mix=list:30,get:40,create:10,update:15,delete:5"
+ */
+public final class LoadHarness {
+
+	private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 60));
+
+	private static final String MIX = System.getProperty("load.mix", "list:30,get:40,create:10,update:15,delete:5");
+
+	private static final int SEED_ROWS = Integer.getInteger("load.seed-rows", 5000);
+
+	private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 10_000);
+
+	private static final int PICTURE_EDGE = Integer.getInteger("load.picture-edge", 320);
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(Long.getLong("load.timeout-seconds", 30));
+
+	private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+	private static final double[] PERCENTILES = { 50, 95, 99, 99.9 };
+
+	private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+	private enum Operation {
+
+		LIST, GET, CREATE, UPDATE, DELETE;
+
+		String key() {
+			return name().toLowerCase(Locale.ROOT);
+		}
+
+	}
+
+	private LoadHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<Operation, Integer> mix = parseMix(MIX);
+		Path uploads = Files.createTempDirectory("students-load-");
+		ConfigurableApplicationContext app = new SpringApplicationBuilder(StudentmanagementappApplication.class)
+			.profiles("local", "bench")
+			.properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:load;MODE=PostgreSQL;"
+					+ "DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "app.storage.upload-dir=" + uploads.toAbsolutePath() + "/")
+			.run();
+
+		Map<Operation, Stats> stats;
+		try {
+			int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			IdPool ids = new IdPool(seed(app.getBean(StudentRepository.class)));
+			System.out.printf("Driving %.0f req/s for %ds (+%ds warm-up) against port %d, mix %s%n", RATE,
+					DURATION.toSeconds(), WARMUP.toSeconds(), port, MIX);
+			stats = drive(URI.create("http://localhost:" + port + "/api/v1/students"), mix, ids);
+		}
+		finally {
+			app.close();
+			deleteRecursively(uploads);
+		}
+
+		Map<String, Object> report = report(mix, stats);
+		print(stats);
+		Path out = Path.of(System.getProperty("load.out", "target/load-results/load-"
+				+ LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+		Files.createDirectories(out.toAbsolutePath().getParent());
+		JSON.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+		System.out.println("Results written to " + out.toAbsolutePath());
+	}
+
+	// ── Load generation ─────────────────────────────────────────────────────
+
+	private static Map<Operation, Stats> drive(URI base, Map<Operation, Integer> mix, IdPool ids) {
+		Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			stats.put(operation, new Stats());
+		}
+		Operation[] slots = slots(mix);
+		List<byte[]> pictures = LoadFixtures.pictures(16, PICTURE_EDGE);
+		AtomicLong contacts = new AtomicLong();
+		Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+		long start = System.nanoTime();
+		long measureFrom = start + WARMUP.toNanos();
+		long end = measureFrom + DURATION.toNanos();
+		double intervalNanos = 1_000_000_000.0 / RATE;
+
+		try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+			HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(threads)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+			Caller caller = new Caller(http, base, ids, pictures, contacts);
+
+			for (long i = 0;; i++) {
+				long intended = start + (long) (i * intervalNanos);
+				if (intended >= end) {
+					break;
+				}
+				long wait = intended - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				Operation operation = slots[ThreadLocalRandom.current().nextInt(slots.length)];
+				Stats target = intended >= measureFrom ? stats.get(operation) : null;
+				// Waiting here delays the send, not the intended time, so it is still counted
+				inFlight.acquireUninterruptibly();
+				threads.execute(() -> {
+					try {
+						caller.call(operation, intended, target);
+					}
+					finally {
+						inFlight.release();
+					}
+				});
+			}
+		}
+		return stats;
+	}
+
+	/** 100 slots filled in proportion to the mix weights. */
+	private static Operation[] slots(Map<Operation, Integer> mix) {
+		int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+		List<Operation> slots = new ArrayList<>();
+		mix.forEach((operation, weight) -> {
+			for (int i = 0; i < Math.round(100.0 * weight / total); i++) {
+				slots.add(operation);
+			}
+		});
+		return slots.toArray(Operation[]::new);
+	}
+
+	/** Sends one request and records it. Shared by all request threads. */
+	private record Caller(HttpClient http, URI base, IdPool ids, List<byte[]> pictures, AtomicLong contacts) {
+
+		void call(Operation operation, long intended, Stats stats) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			long id = switch (operation) {
+				case GET, UPDATE -> ids.random();
+				case DELETE -> ids.take();
+				default -> -1;
+			};
+			Operation effective = (id < 0 && operation != Operation.LIST && operation != Operation.CREATE)
+					? Operation.LIST : operation;
+
+			HttpRequest request = switch (effective) {
+				case LIST -> get(URI.create(base + "?size=50&sort=" + (random.nextBoolean() ? "id" : "name")));
+				case GET -> get(URI.create(base + "/" + id));
+				case CREATE -> LoadFixtures.studentForm("POST", base, form("Load", contacts.incrementAndGet()),
+						pictures.get(random.nextInt(pictures.size())));
+				case UPDATE -> LoadFixtures.studentForm("PUT", URI.create(base + "/" + id),
+						form("Updated", contacts.incrementAndGet()), null);
+				case DELETE -> HttpRequest.newBuilder(URI.create(base + "/" + id)).DELETE().timeout(REQUEST_TIMEOUT).build();
+			};
+
+			long sent = System.nanoTime();
+			boolean ok;
+			try {
+				HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+				ok = response.statusCode() >= 200 && response.statusCode() < 300;
+				if (ok && effective == Operation.CREATE) {
+					ids.add(JSON.readTree(response.body()).get("id").asLong());
+				}
+			}
+			catch (IOException ex) {
+				ok = false;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			long done = System.nanoTime();
+
+			if (!ok && effective == Operation.DELETE) {
+				ids.add(id);
+			}
+			if (stats != null) {
+				stats.record(ok, done - intended, done - sent);
+			}
+		}
+
+		private static HttpRequest get(URI uri) {
+			return HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).build();
+		}
+
+		private static String[][] form(String firstName, long n) {
+			return new String[][] { { "fName", firstName }, { "lName", "Tester" + (n % 97) },
+					{ "contact", "load-" + n }, { "address", n + " Load Street" } };
+		}
+
+	}
+
+	// ── Recording ───────────────────────────────────────────────────────────
+
+	/** Latencies of one operation in nanoseconds; safe to record from any thread. */
+	private static final class Stats {
+
+		private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+		private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+		private final AtomicLong errors = new AtomicLong();
+
+		void record(boolean ok, long response, long service) {
+			if (!ok) {
+				errors.incrementAndGet();
+				return;
+			}
+			responseTime.recordValue(Math.min(response, HIGHEST_TRACKABLE_NANOS));
+			serviceTime.recordValue(Math.min(service, HIGHEST_TRACKABLE_NANOS));
+		}
+
+	}
+
+	/** Ids that currently exist, for get/update/delete to pick from. */
+	private static final class IdPool {
+
+		private long[] ids;
+
+		private int size;
+
+		IdPool(long[] seed) {
+			ids = Arrays.copyOf(seed, Math.max(seed.length * 2, 16));
+			size = seed.length;
+		}
+
+		synchronized void add(long id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		synchronized long random() {
+			return size == 0 ? -1 : ids[ThreadLocalRandom.current().nextInt(size)];
+		}
+
+		/** Removes and returns a random id, or -1 when none are left. */
+		synchronized long take() {
+			if (size == 0) {
+				return -1;
+			}
+			int index = ThreadLocalRandom.current().nextInt(size);
+			long id = ids[index];
+			ids[index] = ids[--size];
+			return id;
+		}
+
+	}
+
+	// ── Reporting ───────────────────────────────────────────────────────────
+
+	private static Map<String, Object> report(Map<Operation, Integer> mix, Map<Operation, Stats> stats) {
+		Map<String, Object> config = new LinkedHashMap<>();
+		config.put("rate", RATE);
+		config.put("warmupSeconds", WARMUP.toSeconds());
+		config.put("durationSeconds", DURATION.toSeconds());
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		mix.forEach((operation, weight) -> weights.put(operation.key(), weight));
+		config.put("mix", weights);
+		config.put("seedRows", SEED_ROWS);
+		config.put("pictureEdge", PICTURE_EDGE);
+		config.put("maxInFlight", MAX_IN_FLIGHT);
+
+		Map<String, Object> operations = new LinkedHashMap<>();
+		Histogram allResponse = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+		Histogram allService = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+		long allErrors = 0;
+		for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+			Stats s = entry.getValue();
+			if (s.responseTime.getTotalCount() == 0 && s.errors.get() == 0) {
+				continue;
+			}
+			operations.put(entry.getKey().key(), summary(s.responseTime, s.serviceTime, s.errors.get()));
+			allResponse.add(s.responseTime);
+			allService.add(s.serviceTime);
+			allErrors += s.errors.get();
+		}
+		operations.put("all", summary(allResponse, allService, allErrors));
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("timestamp", Instant.now().toString());
+		report.put("commit", gitCommit());
+		report.put("label", System.getProperty("load.label"));
+		report.put("config", config);
+		report.put("operations", operations);
+		return report;
+	}
+
+	private static Map<String, Object> summary(Histogram response, Histogram service, long errors) {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", response.getTotalCount());
+		summary.put("errors", errors);
+		summary.put("throughput", response.getTotalCount() / (double) DURATION.toSeconds());
+		summary.put("responseTimeMs", percentiles(response));
+		summary.put("serviceTimeMs", percentiles(service));
+		return summary;
+	}
+
+	private static Map<String, Double> percentiles(Histogram histogram) {
+		Map<String, Double> values = new LinkedHashMap<>();
+		for (double p : PERCENTILES) {
+			values.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p).replace(".", "")),
+					millis(histogram.getValueAtPercentile(p)));
+		}
+		values.put("max", millis(histogram.getMaxValue()));
+		values.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1_000_000.0);
+		return values;
+	}
+
+	private static void print(Map<Operation, Stats> stats) {
+		System.out.printf("%n%-7s %8s %7s %8s %9s %9s %9s %9s %9s %12s%n", "op", "count", "errors", "req/s", "p50",
+				"p95", "p99", "p99.9", "max", "svc p99");
+		for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+			Histogram h = entry.getValue().responseTime;
+			if (h.getTotalCount() == 0 && entry.getValue().errors.get() == 0) {
+				continue;
+			}
+			System.out.printf("%-7s %8d %7d %8.1f %7.1fms %7.1fms %7.1fms %7.1fms %7.1fms %10.1fms%n",
+					entry.getKey().key(), h.getTotalCount(), entry.getValue().errors.get(),
+					h.getTotalCount() / (double) DURATION.toSeconds(), millis(h.getValueAtPercentile(50)),
+					millis(h.getValueAtPercentile(95)), millis(h.getValueAtPercentile(99)),
+					millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()),
+					millis(entry.getValue().serviceTime.getValueAtPercentile(99)));
+		}
+	}
+
+	// ── Setup helpers ───────────────────────────────────────────────────────
+
+	private static Map<Operation, Integer> parseMix(String spec) {
+		Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+		for (String part : spec.split(",")) {
+			String[] pair = part.trim().split(":");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("load.mix entries look like get:40, got '" + part + "'");
+			}
+			int weight = Integer.parseInt(pair[1].trim());
+			if (weight > 0) {
+				mix.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+			}
+		}
+		if (mix.isEmpty()) {
+			throw new IllegalArgumentException("load.mix has no operation with a positive weight");
+		}
+		return mix;
+	}
+
+	private static long[] seed(StudentRepository repository) {
+		List<Student> students = new ArrayList<>(SEED_ROWS);
+		for (int i = 0; i < SEED_ROWS; i++) {
+			students.add(new Student(null, "First" + i, "Last" + (i % 97), "seed-" + i, i + " Seed Street", null, 0));
+		}
+		return repository.saveAll(students).stream().mapToLong(Student::getId).toArray();
+	}
+
+	private static String gitCommit() {
+		try {
+			Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+			String out = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+			return git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 ? out : null;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static void deleteRecursively(Path root) throws IOException {
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.studentmanagementapp.studentmanagementapp.StudentmanagementappApplication;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+/**
+ * Upload throughput of LocalStorageServiceImpl at several file sizes: hashing
+ * while copying to a temp file, the reference-count transaction against the
+ * embedded database and the move into place.
+ *
+ * Every invocation stamps a counter into the first bytes so each upload is new
+ * content rather than a dedup hit, and the stored file is deleted afterwards
+ * (outside the measurement) so the disk does not fill up.
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec -Dbenchmark.args="LocalUploadBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalUploadBenchmark {
+
+	@Param({ "16", "256", "2048", "8192" })
+	int sizeKb;
+
+	private ConfigurableApplicationContext context;
+
+	private StorageService storage;
+
+	private byte[] content;
+
+	private long counter;
+
+	private String lastKey;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = new SpringApplicationBuilder(StudentmanagementappApplication.class)
+			.web(WebApplicationType.NONE)
+			.profiles("local", "bench")
+			.run();
+		storage = context.getBean(StorageService.class);
+		content = new byte[sizeKb * 1024];
+		ThreadLocalRandom.current().nextBytes(content);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public String upload() {
+		ByteBuffer.wrap(content).putLong(++counter);
+		lastKey = storage.uploadFile(new Picture(content), "students");
+		return lastKey;
+	}
+
+	@TearDown(Level.Invocation)
+	public void deleteUpload() {
+		storage.deleteFile(lastKey);
+	}
+
+	/** The upload as a request part, held in memory so reading it costs nothing. */
+	private record Picture(byte[] content) implements MultipartFile {
+
+		@Override
+		public String getName() {
+			return "profileImage";
+		}
+
+		@Override
+		public String getOriginalFilename() {
+			return "photo.jpg";
+		}
+
+		@Override
+		public String getContentType() {
+			return "image/jpeg";
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return content.length == 0;
+		}
+
+		@Override
+		public long getSize() {
+			return content.length;
+		}
+
+		@Override
+		public byte[] getBytes() {
+			return content;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(content);
+		}
+
+		@Override
+		public void transferTo(File dest) throws IOException {
+			Files.write(dest.toPath(), content);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studentmanagementapp.studentmanagementapp.dto.PageDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Jackson serialization of large student responses: a list page buffered to a
+ * byte[] (what a ResponseEntity body costs) and the same list streamed to an
+ * OutputStream (what the export and search paths cost).
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec -Dbenchmark.args="StudentJsonBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentJsonBenchmark {
+
+	@Param({ "50", "200", "1000", "10000" })
+	int size;
+
+	private final ObjectMapper mapper = JsonMapper.builder().build();
+
+	private List<StudentDTO> students;
+
+	private PageDTO<StudentDTO> page;
+
+	@Setup
+	public void setUp() {
+		students = students(size);
+		page = new PageDTO<>(students, "AAAAAAAAAAAAMg");
+	}
+
+	/** Resolved DTOs as the list endpoint returns them, with two thumbnails each. */
+	static List<StudentDTO> students(int size) {
+		List<StudentDTO> students = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			String key = "students/" + "%064x".formatted(i);
+			Map<Integer, String> thumbnails = new LinkedHashMap<>();
+			thumbnails.put(64, "/uploads/students/thumbs/64/" + "%064x".formatted(i) + ".jpg");
+			thumbnails.put(256, "/uploads/students/thumbs/256/" + "%064x".formatted(i) + ".jpg");
+			students.add(new StudentDTO((long) i, "Nimal" + i, "Perera", "07712345" + i, i + " Temple Road, Colombo",
+					"/uploads/" + key + ".jpg", thumbnails, 3L));
+		}
+		return students;
+	}
+
+	@Benchmark
+	public byte[] pageToBytes() {
+		return mapper.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public void listToStream() {
+		mapper.writeValue(OutputStream.nullOutputStream(), students);
+	}
+
+}
@@ -0,0 +1,162 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+import com.studentmanagementapp.studentmanagementapp.service.impl.StudentMapper;
+import com.studentmanagementapp.studentmanagementapp.service.impl.ThumbnailGenerator;
+import com.studentmanagementapp.studentmanagementapp.service.impl.ThumbnailIndex;
+
+/**
+ * Entity/DTO mapping done on every read and write: StudentMapper.toDTO for a
+ * single student, toDTOs for a list page (picture plus two thumbnail URLs per
+ * row, resolved in one call) and toEntity for a create.
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec -Dbenchmark.args="StudentMapperBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentMapperBenchmark {
+
+	@Param({ "50", "200" })
+	int pageSize;
+
+	private StudentMapper mapper;
+
+	private Student student;
+
+	private List<Student> page;
+
+	private StudentDTO request;
+
+	@Setup
+	public void setUp() {
+		mapper = new StudentMapper(new PrefixUrlStorage(), new ThumbnailGenerator(List.of(64, 256), 0.8f, 1, 1, 1),
+				new AllReadyIndex());
+		page = new ArrayList<>(pageSize);
+		for (int i = 0; i < pageSize; i++) {
+			page.add(new Student((long) i, "Nimal" + i, "Perera", "07712345" + i, i + " Temple Road, Colombo",
+					"students/" + "%064x".formatted(i) + ".jpg", 3));
+		}
+		student = page.get(0);
+		request = new StudentDTO(null, "Nimal", "Perera", "0771234567", "12 Temple Road, Colombo", null, null, null);
+	}
+
+	@Benchmark
+	public StudentDTO toDTO() {
+		return mapper.toDTO(student);
+	}
+
+	@Benchmark
+	public List<StudentDTO> toDTOs() {
+		return mapper.toDTOs(page);
+	}
+
+	@Benchmark
+	public Student toEntity() {
+		return mapper.toEntity(request);
+	}
+
+	/** Reports every picture as having thumbnails, without touching the database. */
+	private static final class AllReadyIndex extends ThumbnailIndex {
+
+		AllReadyIndex() {
+			super(null, Duration.ofMinutes(10));
+		}
+
+		@Override
+		public Set<String> withThumbnails(Collection<String> keys) {
+			return new HashSet<>(keys);
+		}
+	}
+
+	/** Resolves keys the way local storage does, without touching the disk. */
+	private static final class PrefixUrlStorage implements StorageService {
+
+		@Override
+		public String uploadFile(MultipartFile file, String folder) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public byte[] startUpload(String folder, String uploadId, String contentType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public UploadProgress appendUpload(byte[] state, long offset, InputStream in, long maxBytes) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String completeUpload(byte[] state, String folder, String extension) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void abortUpload(byte[] state) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void deleteFile(String key) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long purgeFiles(Collection<String> keys) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<StoredFile> listFiles(String folder) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String resolveUrl(String key) {
+			return key == null ? null : "/uploads/" + key;
+		}
+
+		@Override
+		public Map<String, String> resolveUrls(Collection<String> keys) {
+			Map<String, String> urls = new HashMap<>();
+			for (String key : keys) {
+				if (key != null) {
+					urls.put(key, resolveUrl(key));
+				}
+			}
+			return urls;
+		}
+
+	}
+
+}
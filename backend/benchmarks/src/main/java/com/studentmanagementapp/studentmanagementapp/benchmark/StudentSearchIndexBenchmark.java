@@ -0,0 +1,112 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.service.impl.StudentSearchIndex;
+
+/**
+ * Index build time and query latency of StudentSearchIndex over a synthetic roster.
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec -Dbenchmark.args="StudentSearchIndexBenchmark"
+ */
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class StudentSearchIndexBenchmark {
+
+	private static final String[] FIRST_NAMES = { "Nimal", "Kamal", "Sunil", "Amara", "Dilani", "Chamath", "Ruwan",
+			"Sanduni", "Kasun", "Tharindu", "Nadeesha", "Isuru", "Malsha", "Pasindu", "Hiruni", "Lahiru", "Sachini",
+			"Dinuka", "Gayani", "Ashen", "John", "Maria", "David", "Sarah", "Ahmed", "Priya", "Chen", "Yuki", "Olga",
+			"Lucas" };
+
+	private static final String[] LAST_NAMES = { "Perera", "Silva", "Fernando", "Jayasuriya", "Bandara",
+			"Wickramasinghe", "Dissanayake", "Rajapaksa", "Gunawardena", "Herath", "Kumara", "Rathnayake", "Senanayake",
+			"Weerasinghe", "Pathirana", "Smith", "Johnson", "Garcia", "Nguyen", "Khan", "Patel", "Kim", "Müller",
+			"Rossi", "Novak" };
+
+	private static final String[] STREETS = { "Temple Road", "Lake Drive", "Hill Street", "Main Street",
+			"Galle Road", "Station Road", "Church Lane", "Park Avenue", "Flower Road", "Beach Road" };
+
+	private static final String[] CITIES = { "Colombo", "Kandy", "Galle", "Matara", "Jaffna", "Negombo",
+			"Kurunegala", "Anuradhapura", "Ratnapura", "Badulla", "Trincomalee", "Batticaloa" };
+
+	@State(Scope.Benchmark)
+	public static class Roster {
+
+		@Param({ "100000", "1000000" })
+		int rows;
+
+		List<Student> students;
+
+		StudentSearchIndex index;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			Random random = new Random(42);
+			students = new ArrayList<>(rows);
+			for (int i = 1; i <= rows; i++) {
+				students.add(new Student((long) i, pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+						String.format("07%08d", random.nextInt(100_000_000)),
+						(1 + random.nextInt(400)) + " " + pick(random, STREETS) + ", " + pick(random, CITIES), null, 0));
+			}
+			index = build(students);
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class Query {
+
+		/** Short prefix, surname, two terms, contact digits, street words, no match. */
+		@Param({ "ka", "perera", "silva kandy", "0771", "lake dr", "zzzz" })
+		String text;
+
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 2)
+	@Measurement(iterations = 5)
+	public StudentSearchIndex buildIndex(Roster roster) {
+		return build(roster.students);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@Warmup(iterations = 3, time = 2)
+	@Measurement(iterations = 5, time = 2)
+	public List<StudentSearchIndex.Hit> searchTop20(Roster roster, Query query) {
+		return roster.index.search(query.text, 20);
+	}
+
+	/** Fills a fresh index in chunks of 1000, as StudentSearchIndexLoader does. */
+	private static StudentSearchIndex build(List<Student> students) {
+		StudentSearchIndex index = new StudentSearchIndex();
+		for (int from = 0; from < students.size(); from += 1000) {
+			index.putAll(students.subList(from, Math.min(from + 1000, students.size())));
+		}
+		return index;
+	}
+
+	private static String pick(Random random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.studentmanagementapp.studentmanagementapp.dto.PageDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Encoding cost of a list page in each negotiable format (JSON, CBOR, Smile),
+ * with and without the gzip that server.compression applies.
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec -Dbenchmark.args="StudentWireFormatBenchmark"
+ *
+ * The main method prints the bytes on the wire for the same pages instead:
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec \
+ *   -Dbenchmark.main=com.studentmanagementapp.studentmanagementapp.benchmark.StudentWireFormatBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentWireFormatBenchmark {
+
+	@Param({ "json", "cbor", "smile" })
+	String format;
+
+	@Param({ "false", "true" })
+	boolean gzip;
+
+	@Param({ "200", "10000" })
+	int size;
+
+	private ObjectMapper mapper;
+
+	private PageDTO<StudentDTO> page;
+
+	@Setup
+	public void setUp() {
+		mapper = mapper(format);
+		page = new PageDTO<>(StudentJsonBenchmark.students(size), "AAAAAAAAAAAAMg");
+	}
+
+	@Benchmark
+	public byte[] encode() {
+		return encode(mapper, page, gzip);
+	}
+
+	static ObjectMapper mapper(String format) {
+		return switch (format) {
+			case "json" -> JsonMapper.builder().build();
+			case "cbor" -> CBORMapper.builder().build();
+			case "smile" -> SmileMapper.builder().build();
+			default -> throw new IllegalArgumentException("Unknown format: " + format);
+		};
+	}
+
+	static byte[] encode(ObjectMapper mapper, Object value, boolean gzip) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+			mapper.writeValue(out, value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static void main(String[] args) {
+		System.out.printf("%-6s %8s %12s %12s %8s%n", "format", "rows", "bytes", "gzip bytes", "ratio");
+		for (int size : new int[] { 200, 10_000 }) {
+			PageDTO<StudentDTO> page = new PageDTO<>(StudentJsonBenchmark.students(size), "AAAAAAAAAAAAMg");
+			long json = encode(mapper("json"), page, false).length;
+			for (String format : new String[] { "json", "cbor", "smile" }) {
+				ObjectMapper mapper = mapper(format);
+				long plain = encode(mapper, page, false).length;
+				long compressed = encode(mapper, page, true).length;
+				System.out.printf("%-6s %8d %12d %12d %8.3f%n", format, size, plain, compressed,
+						(double) compressed / json);
+			}
+		}
+	}
+
+}
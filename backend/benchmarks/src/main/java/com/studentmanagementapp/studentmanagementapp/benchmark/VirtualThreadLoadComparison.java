@@ -0,0 +1,289 @@
+package com.studentmanagementapp.studentmanagementapp.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.studentmanagementapp.studentmanagementapp.StudentmanagementappApplication;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+/**
+ * Closed-loop load test of mixed read/upload traffic, run once with Tomcat's
+ * platform worker pool and once with spring.threads.virtual.enabled=true.
+ *
+ * Each run boots the application on a random port against its own in-memory
+ * H2 database, with local storage wrapped in {@link DelayedStorageService} so
+ * uploads block for as long as a GCS round-trip would. Clients (virtual
+ * threads) pick a request per iteration: a picture upload (POST), a single
+ * student (GET /{id}) or a page sorted by name (GET ?sort=name). Throughput and
+ * latency percentiles are reported per mode after a warm-up period.
+ *
+ * ./mvnw -f benchmarks/pom.xml compile exec:exec \
+ *     -Dbenchmark.main=com.studentmanagementapp.studentmanagementapp.benchmark.VirtualThreadLoadComparison \
+ *     -Dbenchmark.jvmArgs="-Dload.clients=400 -Dload.seconds=30"
+ */
+public final class VirtualThreadLoadComparison {
+
+	private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10));
+
+	private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("load.seconds", 30));
+
+	private static final double UPLOAD_SHARE = Double.parseDouble(System.getProperty("load.upload-share", "0.2"));
+
+	private static final Duration STORAGE_LATENCY = Duration.ofMillis(Long.getLong("load.storage-latency-ms", 250));
+
+	private static final int SEED_ROWS = Integer.getInteger("load.seed-rows", 2000);
+
+	private static final int PLATFORM_THREADS = Integer.getInteger("load.platform-threads", 200);
+
+	private VirtualThreadLoadComparison() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<Result> results = List.of(run(false), run(true));
+
+		System.out.printf("%nclients=%d upload-share=%.2f storage-latency=%dms measured=%ds%n", CLIENTS, UPLOAD_SHARE,
+				STORAGE_LATENCY.toMillis(), MEASURE.toSeconds());
+		System.out.printf("%-9s %10s %10s %10s %10s %10s %10s %8s%n", "mode", "req/s", "read p50", "read p99",
+				"upl p50", "upl p99", "uploads", "errors");
+		for (Result r : results) {
+			System.out.printf("%-9s %10.1f %8.1fms %8.1fms %8.1fms %8.1fms %10d %8d%n", r.mode, r.throughput(MEASURE),
+					millis(r.reads, 0.50), millis(r.reads, 0.99), millis(r.uploads, 0.50), millis(r.uploads, 0.99),
+					r.uploads.length, r.errors);
+		}
+	}
+
+	private static Result run(boolean virtualThreads) throws Exception {
+		String mode = virtualThreads ? "virtual" : "platform";
+		ConfigurableApplicationContext app = new SpringApplicationBuilder(StudentmanagementappApplication.class)
+			.profiles("local", "bench")
+			.properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads,
+					"server.tomcat.threads.max=" + PLATFORM_THREADS, "spring.jpa.open-in-view=false",
+					"spring.datasource.url=jdbc:h2:mem:load-" + mode
+							+ ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+					"spring.datasource.hikari.maximum-pool-size=20", "spring.datasource.hikari.minimum-idle=20",
+					"spring.datasource.hikari.connection-timeout=3000", "app.storage.upload-dir=target/load-uploads/")
+			.initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return (bean instanceof StorageService storage) ? new DelayedStorageService(storage, STORAGE_LATENCY)
+							: bean;
+				}
+			}))
+			.run();
+
+		try {
+			int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			long[] ids = seed(app.getBean(StudentRepository.class));
+			System.out.printf("%s: %d clients against port %d...%n", mode, CLIENTS, port);
+			return drive(mode, URI.create("http://localhost:" + port + "/api/v1/students"), ids);
+		}
+		finally {
+			app.close();
+		}
+	}
+
+	private static long[] seed(StudentRepository repository) {
+		List<Student> students = new ArrayList<>(SEED_ROWS);
+		for (int i = 0; i < SEED_ROWS; i++) {
+			students.add(new Student(null, "First" + i, "Last" + (i % 97), "seed-" + i, i + " Seed Street", null, 0));
+		}
+		return repository.saveAll(students).stream().mapToLong(Student::getId).toArray();
+	}
+
+	private static Result drive(String mode, URI base, long[] ids) throws InterruptedException {
+		List<byte[]> images = LoadFixtures.pictures(16, 320);
+		AtomicLong contacts = new AtomicLong();
+		long measureFrom = System.nanoTime() + WARMUP.toNanos();
+		long measureTo = measureFrom + MEASURE.toNanos();
+
+		List<Client> clients = new ArrayList<>(CLIENTS);
+		try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+			HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(threads)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+			for (int i = 0; i < CLIENTS; i++) {
+				Client client = new Client(http, base, ids, images, contacts, measureFrom, measureTo);
+				clients.add(client);
+				threads.submit(client);
+			}
+		}
+
+		Result result = new Result(mode);
+		List<long[]> reads = new ArrayList<>();
+		List<long[]> uploads = new ArrayList<>();
+		for (Client client : clients) {
+			reads.add(client.reads.toArray());
+			uploads.add(client.uploads.toArray());
+			result.errors += client.errors;
+		}
+		result.reads = merge(reads);
+		result.uploads = merge(uploads);
+		return result;
+	}
+
+	/** One simulated user: sends a request, waits for the answer, repeats. */
+	private static final class Client implements Runnable {
+
+		private final HttpClient http;
+
+		private final URI base;
+
+		private final long[] ids;
+
+		private final List<byte[]> images;
+
+		private final AtomicLong contacts;
+
+		private final long measureFrom;
+
+		private final long measureTo;
+
+		private final Samples reads = new Samples();
+
+		private final Samples uploads = new Samples();
+
+		private long errors;
+
+		Client(HttpClient http, URI base, long[] ids, List<byte[]> images, AtomicLong contacts, long measureFrom,
+				long measureTo) {
+			this.http = http;
+			this.base = base;
+			this.ids = ids;
+			this.images = images;
+			this.contacts = contacts;
+			this.measureFrom = measureFrom;
+			this.measureTo = measureTo;
+		}
+
+		@Override
+		public void run() {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			while (System.nanoTime() < measureTo) {
+				double pick = random.nextDouble();
+				boolean upload = pick < UPLOAD_SHARE;
+				HttpRequest request;
+				if (upload) {
+					request = createRequest(random);
+				}
+				else if (pick < UPLOAD_SHARE + (1 - UPLOAD_SHARE) / 2) {
+					request = HttpRequest.newBuilder(URI.create(base + "/" + ids[random.nextInt(ids.length)])).build();
+				}
+				else {
+					request = HttpRequest.newBuilder(URI.create(base + "?sort=name&size=20")).build();
+				}
+
+				long start = System.nanoTime();
+				boolean ok;
+				try {
+					int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+					ok = status >= 200 && status < 300;
+				}
+				catch (IOException ex) {
+					ok = false;
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				long end = System.nanoTime();
+
+				if (start >= measureFrom && end <= measureTo) {
+					if (!ok) {
+						errors++;
+					}
+					else if (upload) {
+						uploads.add(end - start);
+					}
+					else {
+						reads.add(end - start);
+					}
+				}
+			}
+		}
+
+		private HttpRequest createRequest(ThreadLocalRandom random) {
+			long n = contacts.incrementAndGet();
+			return LoadFixtures.studentForm("POST", base,
+					new String[][] { { "fName", "Load" }, { "lName", "Tester" + (n % 97) }, { "contact", "load-" + n },
+							{ "address", n + " Load Street" } },
+					images.get(random.nextInt(images.size())));
+		}
+
+	}
+
+	private static long[] merge(List<long[]> parts) {
+		long[] all = parts.stream().flatMapToLong(Arrays::stream).toArray();
+		Arrays.sort(all);
+		return all;
+	}
+
+	private static double millis(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return Double.NaN;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(index, 0)] / 1_000_000.0;
+	}
+
+	private static final class Result {
+
+		private final String mode;
+
+		private long[] reads;
+
+		private long[] uploads;
+
+		private long errors;
+
+		Result(String mode) {
+			this.mode = mode;
+		}
+
+		double throughput(Duration window) {
+			return (reads.length + uploads.length) / (window.toMillis() / 1000.0);
+		}
+
+	}
+
+	/** Growable array of latencies in nanoseconds, owned by one client. */
+	private static final class Samples {
+
+		private long[] values = new long[1024];
+
+		private int size;
+
+		void add(long value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		long[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit with a short bounded queue, whose limit follows the
+ * observed latency (the "gradient" scheme of Netflix's concurrency-limits).
+ *
+ * Every window (at least {@code window} long and 10 samples) the average
+ * latency is compared with a slowly moving baseline. While it stays within
+ * 1.5x the baseline and the limit is in use, the limit grows by its square
+ * root; beyond that it shrinks in proportion, down to half per window. The
+ * baseline drifts back down once load eases, so a past slow spell does not
+ * pin the limit low.
+ */
+public class AdaptiveBulkhead {
+
+  private static final int MIN_WINDOW_SAMPLES = 10;
+  private static final double TOLERANCE = 1.5;
+  private static final double SMOOTHING = 0.2;
+  /** Windows the baseline averages over. */
+  private static final double BASELINE_WINDOWS = 60;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final int maxQueue;
+  private final long queueTimeoutNanos;
+  private final long windowNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private final AtomicLong rejected = new AtomicLong();
+
+  private volatile double limit;
+  private volatile int active;
+  private volatile int queued;
+
+  // Guarded by lock
+  private long windowStart = System.nanoTime();
+  private long windowLatencySum;
+  private int windowSamples;
+  private int windowPeak;
+  private double baselineNanos;
+  private volatile double recentNanos;
+
+  public AdaptiveBulkhead(int initialLimit, int minLimit, int maxLimit, int maxQueue, Duration queueTimeout,
+      Duration window) {
+    if (minLimit < 1 || minLimit > maxLimit) {
+      throw new IllegalArgumentException("Bulkhead limits need 1 <= min-limit <= max-limit.");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.maxQueue = Math.max(0, maxQueue);
+    this.queueTimeoutNanos = queueTimeout.toNanos();
+    this.windowNanos = window.toNanos();
+    this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+  }
+
+  /**
+   * Take a permit, waiting up to the queue timeout if the limit is reached
+   * and the queue has room. Callers that get true must call release.
+   *
+   * @return false if the request should be rejected
+   */
+  public boolean tryAcquire() throws InterruptedException {
+    lock.lock();
+    try {
+      // Queued requests go first
+      if (queued == 0 && active < (int) limit) {
+        admit();
+        return true;
+      }
+      if (queued >= maxQueue || queueTimeoutNanos <= 0) {
+        rejected.incrementAndGet();
+        return false;
+      }
+      queued++;
+      try {
+        long remaining = queueTimeoutNanos;
+        while (active >= (int) limit) {
+          if (remaining <= 0) {
+            rejected.incrementAndGet();
+            return false;
+          }
+          remaining = released.awaitNanos(remaining);
+        }
+        admit();
+        return true;
+      } finally {
+        queued--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Return a permit.
+   *
+   * @param latencyNanos how long the request held it
+   */
+  public void release(long latencyNanos) {
+    lock.lock();
+    try {
+      active--;
+      int before = (int) limit;
+      sample(latencyNanos);
+      if ((int) limit > before) {
+        released.signalAll();
+      } else {
+        released.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Seconds a rejected client should wait: about one recent request duration. */
+  public long retryAfterSeconds() {
+    return Math.max(1, (long) Math.ceil(recentNanos / TimeUnit.SECONDS.toNanos(1)));
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getActive() {
+    return active;
+  }
+
+  public int getQueued() {
+    return queued;
+  }
+
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  private void admit() {
+    active++;
+    windowPeak = Math.max(windowPeak, active);
+  }
+
+  private void sample(long latencyNanos) {
+    windowLatencySum += latencyNanos;
+    windowSamples++;
+    long now = System.nanoTime();
+    if (windowSamples < MIN_WINDOW_SAMPLES || now - windowStart < windowNanos) {
+      return;
+    }
+    double recent = (double) windowLatencySum / windowSamples;
+    boolean inUse = windowPeak * 2 >= limit;
+    windowStart = now;
+    windowLatencySum = 0;
+    windowSamples = 0;
+    windowPeak = active;
+    recentNanos = recent;
+
+    baselineNanos = baselineNanos == 0 ? recent
+        : baselineNanos + (recent - baselineNanos) / BASELINE_WINDOWS;
+    if (baselineNanos > 2 * recent) {
+      // Load has eased; let the baseline come down faster than it went up
+      baselineNanos *= 0.95;
+    }
+
+    double gradient = Math.clamp(TOLERANCE * baselineNanos / recent, 0.5, 1.0);
+    double headroom = inUse ? Math.sqrt(limit) : 0;
+    double target = limit * gradient + headroom;
+    limit = Math.clamp(limit * (1 - SMOOTHING) + target * SMOOTHING, minLimit, maxLimit);
+  }
+}
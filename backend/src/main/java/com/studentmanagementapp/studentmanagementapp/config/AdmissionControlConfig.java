@@ -0,0 +1,55 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.studentmanagementapp.studentmanagementapp.config.AdmissionControlFilter.Lane;
+
+/**
+ * Per-lane admission limits, read from app.admission.{read,write,bulk}.*.
+ * Bulk transfers each hold a connection for most of their run, so the bulk
+ * max-limit defaults to half of spring.datasource.hikari.maximum-pool-size
+ * and is always kept below it, leaving connections for the other lanes.
+ * Reads go far above the pool, since most are served from the cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+  private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+  @Bean
+  public AdmissionControlFilter admissionControlFilter(Environment environment) {
+    Duration window = environment.getProperty("app.admission.window", Duration.class, Duration.ofSeconds(1));
+    Map<Lane, AdaptiveBulkhead> bulkheads = new EnumMap<>(Lane.class);
+    bulkheads.put(Lane.READ,
+        bulkhead(environment, "read", 100, 20, 400, Integer.MAX_VALUE, 200, Duration.ofMillis(50), window));
+    bulkheads.put(Lane.WRITE,
+        bulkhead(environment, "write", 20, 4, 100, Integer.MAX_VALUE, 50, Duration.ofMillis(100), window));
+    int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+        HIKARI_DEFAULT_POOL_SIZE);
+    int bulkMax = Math.max(1, poolSize / 2);
+    bulkheads.put(Lane.BULK, bulkhead(environment, "bulk", Math.min(8, bulkMax), Math.min(2, bulkMax), bulkMax,
+        Math.max(1, poolSize - 1), 16, Duration.ofMillis(100), window));
+    return new AdmissionControlFilter(bulkheads);
+  }
+
+  /** A configured max-limit above the ceiling is lowered to it. */
+  private static AdaptiveBulkhead bulkhead(Environment environment, String lane, int initialLimit, int minLimit,
+      int maxLimit, int ceiling, int maxQueue, Duration queueTimeout, Duration window) {
+    String prefix = "app.admission." + lane + ".";
+    return new AdaptiveBulkhead(
+        environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+        environment.getProperty(prefix + "min-limit", Integer.class, minLimit),
+        Math.min(environment.getProperty(prefix + "max-limit", Integer.class, maxLimit), ceiling),
+        environment.getProperty(prefix + "queue-size", Integer.class, maxQueue),
+        environment.getProperty(prefix + "queue-timeout", Duration.class, queueTimeout),
+        window);
+  }
+}
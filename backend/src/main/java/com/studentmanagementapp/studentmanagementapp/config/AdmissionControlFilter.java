@@ -0,0 +1,127 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gives each class of API request its own AdaptiveBulkhead, so a burst of
+ * picture uploads fills the bulk lane and is turned away with 429 while
+ * lookups keep their own permits (and their own latency signal). A request
+ * holds its permit until the response is complete.
+ *
+ * The change feed is not limited: its connections stay open for minutes.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+  public enum Lane {
+    /** GET and HEAD. */
+    READ,
+    /** Small JSON writes: deletes, batch calls, PATCH. */
+    WRITE,
+    /** Request or response bodies of megabytes: multipart uploads and imports, upload chunks, exports. */
+    BULK
+  }
+
+  private final Map<Lane, AdaptiveBulkhead> bulkheads;
+
+  public AdmissionControlFilter(Map<Lane, AdaptiveBulkhead> bulkheads) {
+    this.bulkheads = bulkheads;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return !path.startsWith("/api/")
+        || path.endsWith("/changes")
+        || "OPTIONS".equals(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    AdaptiveBulkhead bulkhead = bulkheads.get(lane(request));
+    boolean admitted;
+    try {
+      admitted = bulkhead.tryAcquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      admitted = false;
+    }
+    if (!admitted) {
+      reject(response, bulkhead.retryAfterSeconds());
+      return;
+    }
+
+    long start = System.nanoTime();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      bulkhead.release(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    bulkheads.forEach((lane, bulkhead) -> {
+      String tag = lane.name().toLowerCase(Locale.ROOT);
+      Gauge.builder("http.admission.limit", bulkhead, AdaptiveBulkhead::getLimit)
+          .description("Current concurrency limit")
+          .tag("lane", tag)
+          .register(registry);
+      Gauge.builder("http.admission.active", bulkhead, AdaptiveBulkhead::getActive)
+          .description("Requests holding a permit")
+          .tag("lane", tag)
+          .register(registry);
+      Gauge.builder("http.admission.queued", bulkhead, AdaptiveBulkhead::getQueued)
+          .description("Requests waiting for a permit")
+          .tag("lane", tag)
+          .register(registry);
+      FunctionCounter.builder("http.admission.rejected", bulkhead, AdaptiveBulkhead::getRejected)
+          .description("Requests rejected with 429")
+          .tag("lane", tag)
+          .register(registry);
+    });
+  }
+
+  static Lane lane(HttpServletRequest request) {
+    String method = request.getMethod();
+    if ("GET".equals(method) || "HEAD".equals(method)) {
+      return request.getRequestURI().endsWith("/export") ? Lane.BULK : Lane.READ;
+    }
+    String contentType = request.getContentType() == null ? null
+        : request.getContentType().toLowerCase(Locale.ROOT);
+    if (contentType != null
+        && (contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+            || contentType.startsWith("application/offset+octet-stream"))) {
+      return Lane.BULK;
+    }
+    return Lane.WRITE;
+  }
+
+  /** Same body shape as GlobalExceptionHandler's errors. */
+  private static void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+    HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write("{\"timestamp\":\"" + LocalDateTime.now() + "\",\"status\":" + status.value()
+        + ",\"error\":\"" + status.getReasonPhrase()
+        + "\",\"message\":\"The server is busy. Please retry shortly.\"}");
+  }
+}
@@ -0,0 +1,36 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-process caches. Bounded by size and TTL, with statistics recorded so hit
+ * and miss rates can be monitored.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String STUDENTS = "students";
+
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${app.students.cache.max-size:10000}") long maxSize,
+      @Value("${app.students.cache.ttl:5m}") Duration ttl) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager(STUDENTS);
+    cacheManager.setCaffeine(Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl)
+        .recordStats());
+    cacheManager.setAllowNullValues(false);
+    return cacheManager;
+  }
+}
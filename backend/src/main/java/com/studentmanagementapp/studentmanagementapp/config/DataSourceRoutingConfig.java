@@ -0,0 +1,89 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to replica databases. Active when
+ * app.datasource.replica.urls is set; otherwise Spring Boot's single
+ * DataSource is used as before.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy over the
+ * primary pool. It takes the physical connection at the first statement,
+ * after the transaction has marked it read-only, and gets read-only
+ * connections from ReplicaRoutingDataSource. Read-write transactions always
+ * use the primary. Replica pools copy the primary's Hikari settings
+ * (credentials, timeouts) apart from URL and size.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.urls")
+public class DataSourceRoutingConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${app.datasource.replica.urls}") List<String> urls,
+      @Value("${app.datasource.replica.maximum-pool-size:20}") int poolSize) {
+    List<HikariDataSource> replicas = new ArrayList<>();
+    for (String url : urls) {
+      HikariConfig config = new HikariConfig();
+      primaryDataSource.copyStateTo(config);
+      config.setPoolName("replica-" + replicas.size());
+      config.setJdbcUrl(url.trim());
+      config.setMaximumPoolSize(poolSize);
+      // -1 (unset) must stay unset: Hikari then idles up to the pool size
+      if (config.getMinimumIdle() >= 0) {
+        config.setMinimumIdle(Math.min(config.getMinimumIdle(), poolSize));
+      }
+      config.setReadOnly(true);
+      MeterRegistry registry = meterRegistry.getIfAvailable();
+      if (registry != null && config.getMetricsTrackerFactory() == null) {
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+      }
+      replicas.add(new HikariDataSource(config));
+    }
+    return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(HikariDataSource primaryDataSource,
+      ReplicaRoutingDataSource replicaRoutingDataSource) {
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+    dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+    return dataSource;
+  }
+
+  @Bean
+  public ReadYourWritesFilter readYourWritesFilter(
+      @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag) {
+    return new ReadYourWritesFilter(maxLag);
+  }
+}
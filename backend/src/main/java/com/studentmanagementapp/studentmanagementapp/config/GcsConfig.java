@@ -0,0 +1,46 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.http.HttpTransportOptions;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+
+/**
+ * Builds the one Google Cloud Storage client shared by the whole application.
+ *
+ * The client owns its HTTP transport (keep-alive connections are reused across
+ * calls) and the credentials refresh their access token on their own before it
+ * expires, so there is no reason to rebuild either per request.
+ */
+@Configuration
+@Profile("cloud")
+public class GcsConfig {
+
+  @Bean
+  public Storage gcsStorage(ResourceLoader resourceLoader,
+      @Value("${app.storage.gcs.credentials-path}") String credentialsPath,
+      @Value("${app.storage.gcs.connect-timeout-ms:5000}") int connectTimeoutMs,
+      @Value("${app.storage.gcs.read-timeout-ms:30000}") int readTimeoutMs) throws IOException {
+    try (InputStream credentialsStream = resourceLoader.getResource(credentialsPath).getInputStream()) {
+      GoogleCredentials credentials = GoogleCredentials.fromStream(credentialsStream)
+          .createScoped("https://www.googleapis.com/auth/cloud-platform");
+      return StorageOptions.newBuilder()
+          .setCredentials(credentials)
+          .setTransportOptions(HttpTransportOptions.newBuilder()
+              .setConnectTimeout(connectTimeoutMs)
+              .setReadTimeout(readTimeoutMs)
+              .build())
+          .build()
+          .getService();
+    }
+  }
+}
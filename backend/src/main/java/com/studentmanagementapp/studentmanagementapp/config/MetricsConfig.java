@@ -0,0 +1,41 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+import com.studentmanagementapp.studentmanagementapp.service.impl.MeteredStorageService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Application metrics beyond what Spring Boot records on its own
+ * (http.server.requests, spring.data.repository.invocations, hikaricp.*,
+ * cache.*). Exposed at /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * Wraps whichever StorageService is active in MeteredStorageService, tagged
+   * with app.storage.mode. Static so it is registered before the storage beans
+   * are created.
+   */
+  @Bean
+  static BeanPostProcessor meteredStorageService(ObjectProvider<MeterRegistry> meterRegistry,
+      Environment environment) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof StorageService storage && !(bean instanceof MeteredStorageService)) {
+          return new MeteredStorageService(storage, meterRegistry.getObject(),
+              environment.getProperty("app.storage.mode", "local"));
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,42 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread switch that lets read-only transactions use a replica (see
+ * DataSourceRoutingConfig). Replicas are opt-in: ReadYourWritesFilter allows
+ * them for the duration of a safe request, and anything else (writes,
+ * background jobs, startup) reads from the primary.
+ */
+public final class ReadRouting {
+
+  private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+  private ReadRouting() {
+  }
+
+  public static boolean isReplicaAllowed() {
+    return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+  }
+
+  static void allowReplica() {
+    REPLICA_ALLOWED.set(Boolean.TRUE);
+  }
+
+  static void reset() {
+    REPLICA_ALLOWED.remove();
+  }
+
+  /** Runs the action with reads on the primary, e.g. right after a write. */
+  public static <T> T onPrimary(Supplier<T> action) {
+    Boolean previous = REPLICA_ALLOWED.get();
+    REPLICA_ALLOWED.remove();
+    try {
+      return action.get();
+    } finally {
+      if (previous != null) {
+        REPLICA_ALLOWED.set(previous);
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decides per request whether reads may go to a replica.
+ *
+ * GET and HEAD requests may, unless the client wrote within max-lag: every
+ * other request sets a short-lived cookie, and while it is present the
+ * client's reads stay on the primary so it sees its own changes. The cookie
+ * is set before the request runs, because a streamed body can commit the
+ * response early; a failed write therefore also pins reads for a few seconds.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  static final String COOKIE = "rw-until";
+
+  private final Duration maxLag;
+
+  public ReadYourWritesFilter(Duration maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    String method = request.getMethod();
+    if ("OPTIONS".equals(method)) {
+      chain.doFilter(request, response);
+      return;
+    }
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + maxLag.toMillis()));
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, maxLag.toSeconds() + 1));
+      response.addCookie(cookie);
+      chain.doFilter(request, response);
+      return;
+    }
+    if (wroteRecently(request)) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    ReadRouting.allowReplica();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      ReadRouting.reset();
+    }
+  }
+
+  private static boolean wroteRecently(HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE.equals(cookie.getName())) {
+        try {
+          return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,51 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Source of read-only connections: the replicas in turn, or the primary when
+ * ReadRouting does not allow a replica on the calling thread.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private final DataSource primary;
+  private final List<HikariDataSource> replicas;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return target().getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return target().getConnection(username, password);
+  }
+
+  DataSource target() {
+    if (replicas.isEmpty() || !ReadRouting.isReplicaAllowed()) {
+      return primary;
+    }
+    return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+  }
+
+  /** Closes the replica pools; the primary pool is a bean of its own. */
+  @Override
+  public void close() {
+    replicas.forEach(HikariDataSource::close);
+  }
+}
@@ -0,0 +1,13 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs: FileCleanupWorker drains the file deletion queue and
+ * OrphanFileSweeper removes stored files no student references.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
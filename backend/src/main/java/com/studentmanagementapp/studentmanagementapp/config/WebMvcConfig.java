@@ -1,39 +1,30 @@
 package com.studentmanagementapp.studentmanagementapp.config;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * Configures Spring MVC to serve uploaded profile images as static resources.
- * Maps HTTP path /uploads/** → file-system directory uploads/.
+ * Spring MVC configuration.
  *
- * This is only relevant for the local storage profile.
+ * Uploaded profile images (local storage profile) are served by
+ * LocalImageController at /uploads/**, with caching and range support.
  * In production (GCS), images are served directly from the cloud bucket.
+ *
+ * With jackson-dataformat-cbor and -smile on the class path, Spring MVC
+ * registers their converters next to JSON, so every controller answers
+ * Accept: application/cbor or application/x-jackson-smile with the same DTOs.
+ * JSON stays the default.
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
-  @Value("${app.storage.upload-dir:uploads/}")
-  private String uploadDir;
-
   @Override
   public void addCorsMappings(org.springframework.web.servlet.config.annotation.CorsRegistry registry) {
     registry.addMapping("/**")
         .allowedOrigins("http://localhost:5173") // Allow Vue dev server
-        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+        .allowedMethods("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         .allowedHeaders("*")
+        .exposedHeaders("Location", "ETag", "Upload-Offset", "Upload-Length", "Tus-Resumable")
         .allowCredentials(true);
   }
-
-  @Override
-  public void addResourceHandlers(ResourceHandlerRegistry registry) {
-    Path uploadPath = Paths.get(uploadDir).toAbsolutePath();
-    registry.addResourceHandler("/uploads/**")
-        .addResourceLocations("file:" + uploadPath + "/");
-  }
 }
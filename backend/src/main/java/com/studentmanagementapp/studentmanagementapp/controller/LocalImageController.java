@@ -0,0 +1,194 @@
+package com.studentmanagementapp.studentmanagementapp.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves uploaded profile images for the local storage profile.
+ *
+ * Stored file names never change content (UUIDs, or content hashes), so every
+ * response is cacheable forever: "Cache-Control: public, max-age=31536000,
+ * immutable". A picture named by its content hash gets that hash as a strong
+ * ETag; other files (older UUID names, thumbnails) get a weak one from size
+ * and modification time, which is not used for If-Range. Revalidations are
+ * answered with 304 and single byte ranges with 206. When the connector
+ * supports it the body goes out through Tomcat's sendfile and never enters
+ * the JVM; otherwise it is copied through the response stream's buffer.
+ */
+@Controller
+@Profile("local")
+public class LocalImageController {
+
+  private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+  /** A content-addressed picture: the SHA-256 of its bytes plus an extension. */
+  private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})(\\.[A-Za-z0-9]+)?");
+
+  private final Path uploadRoot;
+
+  public LocalImageController(@Value("${app.storage.upload-dir:uploads/}") String uploadDir) {
+    this.uploadRoot = Paths.get(System.getProperty("user.dir")).toAbsolutePath()
+        .resolve(uploadDir).normalize();
+  }
+
+  /**
+   * GET /uploads/{folder}/{file}
+   * HEAD requests are routed here too and receive headers only.
+   */
+  @GetMapping("/uploads/**")
+  public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    String prefix = request.getContextPath() + "/uploads/";
+    String relative = UriUtils.decode(request.getRequestURI().substring(prefix.length()), StandardCharsets.UTF_8);
+    Path file = uploadRoot.resolve(relative).normalize();
+    // Dot-folders (e.g. .tmp for in-progress uploads) are never served
+    if (!file.startsWith(uploadRoot) || relative.startsWith(".") || relative.contains("/.")
+        || !Files.isRegularFile(file)) {
+      response.sendError(HttpStatus.NOT_FOUND.value());
+      return;
+    }
+
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    long length = attributes.size();
+    String etag = etag(relative, attributes);
+
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    // Sets the ETag header and turns matching If-None-Match requests into 304
+    if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+      return;
+    }
+
+    response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+        .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+    long start = 0;
+    long end = length - 1;
+    String range = request.getHeader(HttpHeaders.RANGE);
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    // If-Range needs a strong match; a date or a weak ETag always gets the full body
+    if (range != null && (ifRange == null || (!etag.startsWith("W/") && ifRange.equals(etag)))) {
+      long[] bounds = parseRange(range, length);
+      if (bounds == null) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        return;
+      }
+      if (bounds.length == 2) {
+        start = bounds[0];
+        end = bounds[1];
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+      }
+    }
+
+    long count = end - start + 1;
+    response.setContentLengthLong(count);
+    if ("HEAD".equals(request.getMethod()) || count == 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      // Tomcat writes the file with sendfile(2) once this request returns
+      request.setAttribute(SENDFILE_FILENAME, file.toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end + 1);
+      return;
+    }
+
+    // No sendfile: transferTo into a stream falls back to copying through a buffer
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      OutputStream out = response.getOutputStream();
+      WritableByteChannel target = Channels.newChannel(out);
+      long position = start;
+      while (position <= end) {
+        position += channel.transferTo(position, end + 1 - position, target);
+      }
+      out.flush();
+    }
+  }
+
+  private static String etag(String relative, BasicFileAttributes attributes) {
+    Matcher name = CONTENT_ADDRESSED.matcher(relative.substring(relative.lastIndexOf('/') + 1));
+    if (name.matches() && !relative.contains("/thumbs/")) {
+      return "\"" + name.group(1) + "\"";
+    }
+    return "W/\"" + Long.toHexString(attributes.size()) + "-"
+        + Long.toHexString(attributes.lastModifiedTime().toMillis()) + "\"";
+  }
+
+  /**
+   * Parses a "bytes=" Range header.
+   *
+   * @return {start, end} for a satisfiable single range, an empty array when the
+   *         header should be ignored (malformed, e.g. last before first, or
+   *         multiple ranges; the full body is sent), or null when the range
+   *         is unsatisfiable
+   */
+  private long[] parseRange(String header, long length) {
+    if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+      return new long[0];
+    }
+    String spec = header.substring("bytes=".length()).trim();
+    int dash = spec.indexOf('-');
+    if (dash < 0) {
+      return new long[0];
+    }
+    try {
+      String first = spec.substring(0, dash).trim();
+      String last = spec.substring(dash + 1).trim();
+      long start;
+      long end;
+      if (first.isEmpty()) {
+        // Suffix range: the last N bytes
+        long suffix = Long.parseLong(last);
+        if (suffix <= 0) {
+          return null;
+        }
+        start = Math.max(0, length - suffix);
+        end = length - 1;
+      } else {
+        start = Long.parseLong(first);
+        end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+        if (start < 0 || (!last.isEmpty() && end < start)) {
+          // Not a valid range-spec (RFC 9110 14.1.1), so not unsatisfiable either
+          return new long[0];
+        }
+        end = Math.min(end, length - 1);
+      }
+      if (start >= length || start > end) {
+        return null;
+      }
+      return new long[] { start, end };
+    } catch (NumberFormatException e) {
+      return new long[0];
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.studentmanagementapp.studentmanagementapp.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.studentmanagementapp.studentmanagementapp.dto.PictureUploadDTO;
+import com.studentmanagementapp.studentmanagementapp.service.PictureUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resumable picture uploads, following the tus 1.0 core protocol headers
+ * (Upload-Length, Upload-Offset, Upload-Metadata). A client that loses its
+ * connection asks for the offset with HEAD and continues from there instead
+ * of starting over.
+ */
+@RestController
+@RequestMapping("/api/v1/students/{id}/picture-uploads")
+@RequiredArgsConstructor
+public class PictureUploadController {
+
+  private static final String TUS_RESUMABLE = "Tus-Resumable";
+  private static final String TUS_VERSION = "1.0.0";
+  private static final String UPLOAD_LENGTH = "Upload-Length";
+  private static final String UPLOAD_OFFSET = "Upload-Offset";
+  private static final String UPLOAD_METADATA = "Upload-Metadata";
+  private static final String CHUNK_CONTENT_TYPE = "application/offset+octet-stream";
+
+  private final PictureUploadService pictureUploadService;
+
+  /**
+   * POST /api/v1/students/{id}/picture-uploads
+   * Headers: Upload-Length (bytes) and optionally Upload-Metadata with
+   * base64 "filename" and "filetype" values.
+   * Returns 201 with the upload URL in Location.
+   */
+  @PostMapping
+  public ResponseEntity<Void> startUpload(@PathVariable Long id,
+      @RequestHeader(UPLOAD_LENGTH) long length,
+      @RequestHeader(value = UPLOAD_METADATA, required = false) String metadata) {
+    Map<String, String> values = parseMetadata(metadata);
+    PictureUploadDTO upload = pictureUploadService.startUpload(id, length, values.get("filename"),
+        values.get("filetype"));
+    return ResponseEntity.created(URI.create("/api/v1/students/" + id + "/picture-uploads/" + upload.getId()))
+        .header(TUS_RESUMABLE, TUS_VERSION)
+        .header(UPLOAD_OFFSET, Long.toString(upload.getOffset()))
+        .build();
+  }
+
+  /**
+   * HEAD /api/v1/students/{id}/picture-uploads/{uploadId}
+   * Upload-Offset tells the client where to continue.
+   */
+  @RequestMapping(path = "/{uploadId}", method = RequestMethod.HEAD)
+  public ResponseEntity<Void> getUpload(@PathVariable Long id, @PathVariable String uploadId) {
+    PictureUploadDTO upload = pictureUploadService.getUpload(id, uploadId);
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noStore())
+        .header(TUS_RESUMABLE, TUS_VERSION)
+        .header(UPLOAD_OFFSET, Long.toString(upload.getOffset()))
+        .header(UPLOAD_LENGTH, Long.toString(upload.getLength()))
+        .build();
+  }
+
+  /**
+   * PATCH /api/v1/students/{id}/picture-uploads/{uploadId}
+   * Content-Type: application/offset+octet-stream, Upload-Offset: current offset.
+   * The body is streamed to storage. The chunk that reaches Upload-Length
+   * attaches the picture to the student. A mismatched offset gets 409.
+   */
+  @PatchMapping(path = "/{uploadId}", consumes = CHUNK_CONTENT_TYPE)
+  public ResponseEntity<Void> appendChunk(@PathVariable Long id, @PathVariable String uploadId,
+      @RequestHeader(UPLOAD_OFFSET) long offset, HttpServletRequest request) throws IOException {
+    PictureUploadDTO upload = pictureUploadService.appendChunk(id, uploadId, offset, request.getInputStream());
+    return ResponseEntity.noContent()
+        .header(TUS_RESUMABLE, TUS_VERSION)
+        .header(UPLOAD_OFFSET, Long.toString(upload.getOffset()))
+        .build();
+  }
+
+  /**
+   * DELETE /api/v1/students/{id}/picture-uploads/{uploadId}
+   * Cancels the upload and discards the bytes received so far.
+   */
+  @DeleteMapping("/{uploadId}")
+  public ResponseEntity<Void> cancelUpload(@PathVariable Long id, @PathVariable String uploadId) {
+    pictureUploadService.cancelUpload(id, uploadId);
+    return ResponseEntity.noContent()
+        .header(TUS_RESUMABLE, TUS_VERSION)
+        .build();
+  }
+
+  /** "filename ZmlsZS5qcGc=,filetype aW1hZ2UvanBlZw==" → {filename=file.jpg, filetype=image/jpeg} */
+  private static Map<String, String> parseMetadata(String metadata) {
+    Map<String, String> values = new HashMap<>();
+    if (metadata == null || metadata.isBlank()) {
+      return values;
+    }
+    for (String pair : metadata.split(",")) {
+      String[] parts = pair.trim().split(" ", 2);
+      if (parts[0].isEmpty()) {
+        continue;
+      }
+      try {
+        values.put(parts[0], parts.length < 2 ? ""
+            : new String(Base64.getDecoder().decode(parts[1].trim()), StandardCharsets.UTF_8));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Upload-Metadata value for '" + parts[0] + "' is not base64.");
+      }
+    }
+    return values;
+  }
+}
@@ -1,23 +1,46 @@
 package com.studentmanagementapp.studentmanagementapp.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.studentmanagementapp.studentmanagementapp.dto.BatchRequestDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.BatchResultDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.ImportReportDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.PageDTO;
 import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentFileFormat;
+import com.studentmanagementapp.studentmanagementapp.exception.PreconditionFailedException;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentField;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentSort;
+import com.studentmanagementapp.studentmanagementapp.service.StudentChangeFeed;
+import com.studentmanagementapp.studentmanagementapp.service.StudentExportService;
+import com.studentmanagementapp.studentmanagementapp.service.StudentImportService;
 import com.studentmanagementapp.studentmanagementapp.service.StudentService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -25,24 +48,90 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class StudentController {
 
+  private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
   private final StudentService studentService;
+  private final StudentExportService studentExportService;
+  private final StudentImportService studentImportService;
+  private final StudentChangeFeed studentChangeFeed;
 
   /**
-   * GET /api/v1/students
-   * Returns a list of all students.
+   * GET /api/v1/students?sort=id|name|contact&size=50&cursor=...&fields=id,fName,lName
+   * Returns one page of students. Pass the "next" value of a page as
+   * "cursor" to fetch the following page; "next" is null on the last page.
+   * With "fields", only those columns are read and each item holds only them.
    */
   @GetMapping
-  public ResponseEntity<List<StudentDTO>> getAllStudents() {
-    return ResponseEntity.ok(studentService.getAllStudents());
+  public ResponseEntity<PageDTO<?>> getAllStudents(
+      @RequestParam(defaultValue = "id") String sort,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size,
+      @RequestParam(required = false) String fields) {
+    StudentSort studentSort = StudentSort.fromParam(sort);
+    if (fields == null) {
+      return ResponseEntity.ok(studentService.getAllStudents(studentSort, cursor, size));
+    }
+    return ResponseEntity.ok(
+        studentService.getStudentFields(studentSort, cursor, size, StudentField.fromParams(fields)));
+  }
+
+  /**
+   * GET /api/v1/students/search?q=...&limit=20
+   * Returns the students whose names, contact or address match every term
+   * of "q", best match first.
+   */
+  @GetMapping("/search")
+  public ResponseEntity<List<StudentDTO>> searchStudents(
+      @RequestParam(defaultValue = "") String q,
+      @RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(studentService.searchStudents(q, limit));
+  }
+
+  /**
+   * GET /api/v1/students/export?format=ndjson|csv
+   * Streams the full roster as newline-delimited JSON (default) or CSV.
+   */
+  @GetMapping("/export")
+  public void exportStudents(
+      @RequestParam(defaultValue = "ndjson") String format,
+      HttpServletResponse response) throws IOException {
+    StudentFileFormat fileFormat = StudentFileFormat.fromParam(format);
+    response.setContentType(fileFormat.getContentType());
+    response.setCharacterEncoding("UTF-8");
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"students." + fileFormat.getExtension() + "\"");
+    studentExportService.exportStudents(fileFormat, response.getOutputStream());
+  }
+
+  /**
+   * GET /api/v1/students/changes
+   * Server-sent events for every committed create ("created"), update
+   * ("updated") and delete ("deleted"); "reset" asks the client to reload.
+   * Browsers resume after a reconnect by sending Last-Event-ID on their own.
+   */
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(
+      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+    return studentChangeFeed.subscribe(lastEventId);
   }
 
   /**
    * GET /api/v1/students/{id}
    * Returns a single student by ID.
+   * The ETag is derived from the row version (and picture URL, which rotates
+   * as signed URLs are renewed); a matching If-None-Match gets 304 with no body.
    */
   @GetMapping("/{id}")
-  public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id) {
-    return ResponseEntity.ok(studentService.getStudentById(id));
+  public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id, WebRequest request) {
+    StudentDTO student = studentService.getStudentById(id);
+    String etag = etag(student);
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .body(student);
   }
 
   /**
@@ -59,11 +148,28 @@ public class StudentController {
       @RequestPart("contact") String contact,
       @RequestPart("address") String address,
       @RequestPart(value = "profileImage", required = false) MultipartFile profileImage) {
-    StudentDTO dto = new StudentDTO(null, fName, lName, contact, address, null);
+    StudentDTO dto = new StudentDTO(null, fName, lName, contact, address, null, null, null);
     StudentDTO saved = studentService.saveStudent(dto, profileImage);
     return ResponseEntity.status(HttpStatus.CREATED).body(saved);
   }
 
+  /**
+   * POST /api/v1/students/import
+   * Creates students in bulk from an uploaded file.
+   * Send as multipart/form-data with a "file" part holding CSV (header row
+   * fName,lName,contact,address) or NDJSON (one StudentDTO per line).
+   * The format is taken from the "format" parameter or the file extension.
+   */
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportReportDTO> importStudents(
+      @RequestPart("file") MultipartFile file,
+      @RequestParam(required = false) String format) throws IOException {
+    StudentFileFormat fileFormat = format != null
+        ? StudentFileFormat.fromParam(format)
+        : StudentFileFormat.fromFilename(file.getOriginalFilename());
+    return ResponseEntity.ok(studentImportService.importStudents(fileFormat, file.getInputStream()));
+  }
+
   /**
    * PUT /api/v1/students/{id}
    * Updates an existing student.
@@ -77,11 +183,47 @@ public class StudentController {
       @RequestPart("contact") String contact,
       @RequestPart("address") String address,
       @RequestPart(value = "profileImage", required = false) MultipartFile profileImage) {
-    StudentDTO dto = new StudentDTO(id, fName, lName, contact, address, null);
+    StudentDTO dto = new StudentDTO(id, fName, lName, contact, address, null, null, null);
     StudentDTO updated = studentService.updateStudent(id, dto, profileImage);
     return ResponseEntity.ok(updated);
   }
 
+  /**
+   * PATCH /api/v1/students/{id}
+   * Changes only the fields present in a JSON merge patch, e.g.
+   * {"address": "12 Main St"}; the other columns are not written.
+   * With If-Match (an ETag from GET), the update applies only to that
+   * version and a stale one gets 412.
+   */
+  @PatchMapping(value = "/{id}", consumes = { MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE })
+  public ResponseEntity<StudentDTO> patchStudent(
+      @PathVariable Long id,
+      @RequestBody Map<String, Object> patch,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    StudentDTO patched = studentService.patchStudent(id, patch, ifMatchVersion(id, ifMatch));
+    return ResponseEntity.ok().eTag(etag(patched)).body(patched);
+  }
+
+  /**
+   * POST /api/v1/students/batch-get
+   * Returns the students with the given ids, in request order, plus the ids
+   * that do not exist. Body: {"ids": [1, 2, 3]}.
+   */
+  @PostMapping("/batch-get")
+  public ResponseEntity<BatchResultDTO> getStudents(@RequestBody BatchRequestDTO request) {
+    return ResponseEntity.ok(studentService.getStudents(request.getIds()));
+  }
+
+  /**
+   * POST /api/v1/students/batch-delete
+   * Deletes the students with the given ids and their pictures; reports which
+   * ids were deleted and which did not exist. Body: {"ids": [1, 2, 3]}.
+   */
+  @PostMapping("/batch-delete")
+  public ResponseEntity<BatchResultDTO> deleteStudents(@RequestBody BatchRequestDTO request) {
+    return ResponseEntity.ok(studentService.deleteStudents(request.getIds()));
+  }
+
   /**
    * DELETE /api/v1/students/{id}
    * Deletes a student and their profile picture.
@@ -91,4 +233,31 @@ public class StudentController {
     studentService.deleteStudent(id);
     return ResponseEntity.noContent().build();
   }
+
+  private static String etag(StudentDTO student) {
+    return "\"" + student.getId() + "-" + student.getVersion() + "-"
+        + Integer.toHexString(Objects.hashCode(student.getPicture())) + "\"";
+  }
+
+  /**
+   * The row version named by an If-Match ETag, or null without one (or for
+   * "*"). Weak or foreign tags can never match, so they fail the precondition.
+   */
+  private static Long ifMatchVersion(Long id, String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    String[] parts = tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")
+        ? tag.substring(1, tag.length() - 1).split("-")
+        : new String[0];
+    if (parts.length == 3 && parts[0].equals(id.toString())) {
+      try {
+        return Long.parseLong(parts[1]);
+      } catch (NumberFormatException e) {
+        // falls through to the failed precondition
+      }
+    }
+    throw new PreconditionFailedException("If-Match " + tag + " does not match this student.");
+  }
 }
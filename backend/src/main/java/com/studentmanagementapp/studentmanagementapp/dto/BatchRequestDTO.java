@@ -0,0 +1,16 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Body of POST /api/v1/students/batch-get and batch-delete: {"ids": [1, 2, 3]}. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDTO {
+
+  private List<Long> ids;
+}
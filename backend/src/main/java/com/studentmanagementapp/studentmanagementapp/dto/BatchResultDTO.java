@@ -0,0 +1,24 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a batch request. {@code found} and {@code missing} split the
+ * requested ids (duplicates removed, request order kept); {@code students}
+ * holds the found rows for batch-get and is null for batch-delete.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+
+  private List<Long> found;
+
+  private List<Long> missing;
+
+  private List<StudentDTO> students;
+}
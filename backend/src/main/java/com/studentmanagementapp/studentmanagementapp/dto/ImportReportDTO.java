@@ -0,0 +1,21 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+
+  private int total;
+
+  private int created;
+
+  private int failed;
+
+  private List<ImportRowResultDTO> rows;
+}
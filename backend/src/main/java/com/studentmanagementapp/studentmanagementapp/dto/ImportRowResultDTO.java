@@ -0,0 +1,28 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single row of a bulk import.
+ * {@code row} is the 1-based data row number (the CSV header is not counted).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowResultDTO {
+
+  public static final String CREATED = "CREATED";
+  public static final String DUPLICATE = "DUPLICATE";
+  public static final String INVALID = "INVALID";
+  public static final String FAILED = "FAILED";
+
+  private int row;
+
+  private String status;
+
+  private Long id;
+
+  private String message;
+}
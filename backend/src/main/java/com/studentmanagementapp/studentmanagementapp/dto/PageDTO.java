@@ -0,0 +1,21 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a cursor-paginated list.
+ * {@code next} is the opaque cursor for the following page, or null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+
+  private List<T> items;
+
+  private String next;
+}
@@ -0,0 +1,23 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of a resumable picture upload. {@code offset} is the number of bytes
+ * received; the upload is complete (and attached) when it equals {@code length}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PictureUploadDTO {
+
+  private String id;
+
+  private Long studentId;
+
+  private long length;
+
+  private long offset;
+}
@@ -0,0 +1,30 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of the change feed (GET /api/v1/students/changes). "created" and
+ * "updated" carry the student, "deleted" the removed ids. "reset" carries
+ * nothing and means the client must reload: it missed events, or a bulk
+ * import changed too much to describe row by row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentChangeDTO {
+
+  public static final String CREATED = "created";
+  public static final String UPDATED = "updated";
+  public static final String DELETED = "deleted";
+  public static final String RESET = "reset";
+
+  private String type;
+
+  private List<Long> ids;
+
+  private StudentDTO student;
+}
@@ -1,5 +1,7 @@
 package com.studentmanagementapp.studentmanagementapp.dto;
 
+import java.util.Map;
+
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -25,4 +27,10 @@ public class StudentDTO {
   private String address;
 
   private String picture;
+
+  /** Thumbnail URLs keyed by edge length in pixels (e.g. 64, 256). */
+  private Map<Integer, String> thumbnails;
+
+  /** Row version; changes on every update. */
+  private Long version;
 }
@@ -0,0 +1,44 @@
+package com.studentmanagementapp.studentmanagementapp.dto;
+
+/**
+ * File formats supported by the student export and bulk import.
+ */
+public enum StudentFileFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String extension;
+
+  StudentFileFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  public static StudentFileFormat fromParam(String param) {
+    for (StudentFileFormat format : values()) {
+      if (format.extension.equalsIgnoreCase(param)) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported format '" + param + "'. Use ndjson or csv.");
+  }
+
+  /**
+   * Infer the format of an uploaded file from its name, defaulting to CSV.
+   */
+  public static StudentFileFormat fromFilename(String filename) {
+    if (filename != null && (filename.endsWith(".ndjson") || filename.endsWith(".jsonl"))) {
+      return NDJSON;
+    }
+    return CSV;
+  }
+}
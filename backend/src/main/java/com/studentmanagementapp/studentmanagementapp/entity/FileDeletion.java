@@ -0,0 +1,68 @@
+package com.studentmanagementapp.studentmanagementapp.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox entry: a student stopped referencing a stored object and the
+ * reference still has to be released (and the blob removed if it was the
+ * last one). Written in the same transaction as the row change; drained by
+ * FileCleanupWorker.
+ *
+ * A pending entry stands for the reference an upload took before its
+ * student row was written. The row write deletes it (FileCleanupQueue.claimUpload);
+ * if the write fails or never happens, the entry comes due and releases the
+ * reference like any other.
+ */
+@Entity
+@Table(name = "file_deletions", indexes = {
+    @Index(name = "idx_file_deletions_due", columnList = "next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileDeletion {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_deletions_seq")
+  @SequenceGenerator(name = "file_deletions_seq", sequenceName = "file_deletions_seq", allocationSize = 50)
+  private Long id;
+
+  /** Object key as stored in Student.picture. */
+  @Column(name = "object_key", nullable = false, length = 2048)
+  private String key;
+
+  /** Set once the reference is released and only the blob delete is left. */
+  @Column(nullable = false)
+  private boolean released;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  /** An upload's reference that no student row has claimed yet. */
+  @ColumnDefault("false")
+  @Column(nullable = false)
+  private boolean pending;
+}
@@ -0,0 +1,74 @@
+package com.studentmanagementapp.studentmanagementapp.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A resumable picture upload in progress (see PictureUploadService). The
+ * row lives from the creating POST until the last chunk is attached to the
+ * student, the client cancels, or the upload expires.
+ */
+@Entity
+@Table(name = "picture_uploads", indexes = {
+    @Index(name = "idx_picture_uploads_updated", columnList = "updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PictureUpload {
+
+  @Id
+  @Column(length = 36)
+  private String id;
+
+  @Column(name = "student_id", nullable = false)
+  private Long studentId;
+
+  /** Total size announced by the client (Upload-Length). */
+  @Column(name = "upload_length", nullable = false)
+  private long length;
+
+  /** Bytes received so far (Upload-Offset). */
+  @Column(name = "upload_offset", nullable = false)
+  private long offset;
+
+  @Column(length = 16, nullable = false)
+  private String extension;
+
+  @Column(name = "content_type")
+  private String contentType;
+
+  /** Opaque StorageService state; for GCS up to one buffered chunk. */
+  @Column(nullable = false, length = 1024 * 1024)
+  private byte[] state;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  /**
+   * Set while one instance writes to the upload; nobody else touches the
+   * storage session until it is cleared or has passed.
+   */
+  @Column(name = "lease_until")
+  private Instant leaseUntil;
+
+  /** Object key once the upload is complete, so a failed attach can be retried. */
+  @Column(name = "picture")
+  private String picture;
+
+  /** Bumped by every lease, so a writer whose lease ran out cannot save. */
+  @Version
+  private Long version;
+}
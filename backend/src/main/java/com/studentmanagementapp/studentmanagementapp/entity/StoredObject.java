@@ -0,0 +1,40 @@
+package com.studentmanagementapp.studentmanagementapp.entity;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reference count of a content-addressed stored object
+ * (e.g. students/&lt;sha256&gt;.jpg). The blob is removed from storage only when
+ * the count drops to zero.
+ */
+@Entity
+@Table(name = "stored_objects")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredObject {
+
+  @Id
+  @Column(name = "object_key", length = 512)
+  private String key;
+
+  @Column(name = "ref_count", nullable = false)
+  private long refCount;
+
+  /**
+   * Set once every thumbnail size has been stored (see ThumbnailIndex).
+   * Objects stored before the column existed start without, so no URL is
+   * handed out for a thumbnail that may be missing.
+   */
+  @ColumnDefault("false")
+  @Column(nullable = false)
+  private boolean thumbnails;
+}
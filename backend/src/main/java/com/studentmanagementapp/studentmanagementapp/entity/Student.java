@@ -1,24 +1,37 @@
 package com.studentmanagementapp.studentmanagementapp.entity;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+    // Backs keyset pagination by name: (l_name, f_name, id) > (?, ?, ?)
+    @Index(name = "idx_students_name_id", columnList = "l_name, f_name, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
 
+  /**
+   * Sequence-generated with a pooled allocation of 50 so bulk inserts can be
+   * sent as JDBC batches; IDENTITY would force one round-trip per row.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+  @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
   private Long id;
 
   @Column(name = "f_name", nullable = false)
@@ -34,10 +47,23 @@ public class Student {
   private String address;
 
   /**
-   * Stores the public URL of the student's profile picture.
-   * - Local mode : /uploads/students/uuid.jpg (served by Spring static handler)
-   * - GCS mode : https://storage.googleapis.com/bucket/students/uuid.jpg
+   * Stores the storage object key of the student's profile picture. Keys are
+   * content-addressed, students/&lt;sha256&gt;.ext, so students with the same
+   * picture share one object. StorageService.resolveUrl turns it into a URL:
+   * - Local mode : /uploads/students/&lt;sha256&gt;.ext (served by LocalImageController)
+   * - GCS mode : a V4 signed URL, minted on read and cached until near expiry
+   * Rows written by older versions may still hold a full URL; both are accepted.
    */
   @Column(name = "picture", length = 2048)
   private String picture;
+
+  /**
+   * Optimistic-lock version, bumped on every change. Also the basis of the
+   * ETag of GET /api/v1/students/{id}. The column default lets
+   * ddl-auto add it to tables that already hold rows.
+   */
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long version;
 }
@@ -0,0 +1,7 @@
+package com.studentmanagementapp.studentmanagementapp.exception;
+
+public class DuplicateResourceException extends RuntimeException {
+  public DuplicateResourceException(String message) {
+    super(message);
+  }
+}
@@ -4,8 +4,12 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -38,6 +42,57 @@ public class GlobalExceptionHandler {
     return buildError(HttpStatus.BAD_REQUEST, ex.getMessage());
   }
 
+  @ExceptionHandler(DuplicateResourceException.class)
+  public ResponseEntity<Map<String, Object>> handleDuplicate(DuplicateResourceException ex) {
+    return buildError(HttpStatus.CONFLICT, ex.getMessage());
+  }
+
+  @ExceptionHandler(UploadConflictException.class)
+  public ResponseEntity<Map<String, Object>> handleUploadConflict(UploadConflictException ex) {
+    return buildError(HttpStatus.CONFLICT, ex.getMessage());
+  }
+
+  @ExceptionHandler(UploadExpiredException.class)
+  public ResponseEntity<Map<String, Object>> handleUploadExpired(UploadExpiredException ex) {
+    return buildError(HttpStatus.GONE, ex.getMessage());
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+    return buildError(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+  }
+
+  /**
+   * A constraint the service did not map itself. Only a unique index hit (e.g.
+   * by a concurrent write) is a conflict; any other violation is a server fault.
+   */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<Map<String, Object>> handleIntegrityViolation(DataIntegrityViolationException ex) {
+    if (!IntegrityViolations.isUniqueViolation(ex)) {
+      return handleGeneral(ex);
+    }
+    return buildError(HttpStatus.CONFLICT, "The request conflicts with existing data.");
+  }
+
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Map<String, Object>> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+    return buildError(HttpStatus.CONFLICT, "The student was modified by another request. Reload and try again.");
+  }
+
+  /**
+   * No database connection became free within spring.datasource.hikari.connection-timeout.
+   * The pool is deliberately smaller than the number of requests in flight
+   * (see application.yml), so this is back-pressure, not a server fault.
+   */
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<Map<String, Object>> handlePoolExhausted(CannotCreateTransactionException ex) {
+    ResponseEntity<Map<String, Object>> error =
+        buildError(HttpStatus.SERVICE_UNAVAILABLE, "The server is busy. Please retry shortly.");
+    return ResponseEntity.status(error.getStatusCode())
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(error.getBody());
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, Object>> handleGeneral(Exception ex) {
     return buildError(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred: " + ex.getMessage());
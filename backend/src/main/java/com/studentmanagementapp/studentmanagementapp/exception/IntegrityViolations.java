@@ -0,0 +1,28 @@
+package com.studentmanagementapp.studentmanagementapp.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+/**
+ * Tells the kinds of DataIntegrityViolationException apart, so only a unique
+ * index hit becomes a 409; a not-null or foreign key violation is a bug.
+ */
+public final class IntegrityViolations {
+
+  private IntegrityViolations() {
+  }
+
+  /** True if the violation is of a unique constraint or index. */
+  public static boolean isUniqueViolation(DataIntegrityViolationException e) {
+    if (e instanceof DuplicateKeyException) {
+      return true;
+    }
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,8 @@
+package com.studentmanagementapp.studentmanagementapp.exception;
+
+/** An If-Match that does not name the current version of the resource. */
+public class PreconditionFailedException extends RuntimeException {
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
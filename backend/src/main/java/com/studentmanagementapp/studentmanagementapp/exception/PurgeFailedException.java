@@ -0,0 +1,26 @@
+package com.studentmanagementapp.studentmanagementapp.exception;
+
+import java.util.Set;
+
+/** StorageService.purgeFiles could not delete some objects; the others are gone. */
+public class PurgeFailedException extends RuntimeException {
+
+  private final Set<String> failedKeys;
+  private final long freedBytes;
+
+  public PurgeFailedException(Set<String> failedKeys, long freedBytes) {
+    super("Storage did not delete " + failedKeys.size() + " objects: " + failedKeys);
+    this.failedKeys = Set.copyOf(failedKeys);
+    this.freedBytes = freedBytes;
+  }
+
+  /** Keys as passed to purgeFiles whose object or a thumbnail may still exist. */
+  public Set<String> getFailedKeys() {
+    return failedKeys;
+  }
+
+  /** Bytes freed by the deletes that did succeed. */
+  public long getFreedBytes() {
+    return freedBytes;
+  }
+}
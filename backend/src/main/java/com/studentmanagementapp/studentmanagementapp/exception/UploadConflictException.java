@@ -0,0 +1,11 @@
+package com.studentmanagementapp.studentmanagementapp.exception;
+
+/**
+ * A resumable upload request that does not fit where the upload stands: a
+ * chunk at the wrong offset, or a completion whose partial object is gone.
+ */
+public class UploadConflictException extends RuntimeException {
+  public UploadConflictException(String message) {
+    super(message);
+  }
+}
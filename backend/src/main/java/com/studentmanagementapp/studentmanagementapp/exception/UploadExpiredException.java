@@ -0,0 +1,8 @@
+package com.studentmanagementapp.studentmanagementapp.exception;
+
+/** An uploaded picture whose reference was released before the student row used it. */
+public class UploadExpiredException extends RuntimeException {
+  public UploadExpiredException(String message) {
+    super(message);
+  }
+}
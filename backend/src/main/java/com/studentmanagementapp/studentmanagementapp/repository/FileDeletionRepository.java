@@ -0,0 +1,38 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.studentmanagementapp.studentmanagementapp.entity.FileDeletion;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface FileDeletionRepository extends JpaRepository<FileDeletion, Long> {
+
+  /**
+   * Entries whose next attempt is due, oldest first. Locked FOR UPDATE SKIP
+   * LOCKED (lock timeout -2) so workers on several instances take disjoint
+   * batches; must run inside a transaction.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("select d from FileDeletion d where d.nextAttemptAt <= :now order by d.nextAttemptAt")
+  List<FileDeletion> findDue(@Param("now") Instant now, Pageable page);
+
+  /**
+   * Unreleased pending entries of one object, locked like findDue so two
+   * claims of the same content take different entries.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("select d from FileDeletion d where d.key = :key and d.pending = true and d.released = false order by d.id")
+  List<FileDeletion> findPending(@Param("key") String key, Pageable page);
+}
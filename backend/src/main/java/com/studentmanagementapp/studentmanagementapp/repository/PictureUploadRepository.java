@@ -0,0 +1,35 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studentmanagementapp.studentmanagementapp.entity.PictureUpload;
+
+public interface PictureUploadRepository extends JpaRepository<PictureUpload, String> {
+
+  List<PictureUpload> findByUpdatedAtBefore(Instant cutoff);
+
+  /**
+   * Take the upload's lease if nobody holds it; works across instances.
+   *
+   * @return 1 if taken, 0 if the upload is leased or does not belong to the student
+   */
+  @Transactional
+  @Modifying
+  @Query("update PictureUpload u set u.leaseUntil = :until, u.version = u.version + 1 "
+      + "where u.id = :id and u.studentId = :studentId and (u.leaseUntil is null or u.leaseUntil < :now)")
+  int lease(@Param("id") String id, @Param("studentId") Long studentId, @Param("now") Instant now,
+      @Param("until") Instant until);
+
+  /** Give the lease back, unless it ran out and someone else has taken it since. */
+  @Transactional
+  @Modifying
+  @Query("update PictureUpload u set u.leaseUntil = null where u.id = :id and u.version = :version")
+  int releaseLease(@Param("id") String id, @Param("version") Long version);
+}
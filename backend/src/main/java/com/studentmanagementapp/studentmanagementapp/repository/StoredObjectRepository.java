@@ -0,0 +1,90 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studentmanagementapp.studentmanagementapp.entity.StoredObject;
+
+import jakarta.persistence.LockModeType;
+
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+
+  /**
+   * Registers a new object with one reference; fails with a
+   * DataIntegrityViolationException if the key is already registered.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "insert into stored_objects (object_key, ref_count, thumbnails) values (:key, 1, false)", nativeQuery = true)
+  int insertFirstReference(@Param("key") String key);
+
+  /**
+   * Registers an object that nothing references, so there is a row to lock
+   * while its blob is purged; fails like insertFirstReference if it exists.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "insert into stored_objects (object_key, ref_count, thumbnails) values (:key, 0, false)", nativeQuery = true)
+  int insertUnreferenced(@Param("key") String key);
+
+  /** Adds a reference to an object that is in use, so its blob is known to exist. */
+  @Transactional
+  @Modifying
+  @Query("update StoredObject o set o.refCount = o.refCount + 1 where o.key = :key and o.refCount > 0")
+  int incrementLive(@Param("key") String key);
+
+  /**
+   * Gives an unreferenced object (its blob possibly purged) its first
+   * reference again; its thumbnails are made again with the blob.
+   */
+  @Transactional
+  @Modifying
+  @Query("update StoredObject o set o.refCount = 1, o.thumbnails = false where o.key = :key and o.refCount <= 0")
+  int revive(@Param("key") String key);
+
+  @Transactional
+  @Modifying
+  @Query("update StoredObject o set o.refCount = o.refCount - 1 where o.key = :key and o.refCount > 0")
+  int decrement(@Param("key") String key);
+
+  @Transactional
+  @Modifying
+  @Query("update StoredObject o set o.refCount = case when o.refCount > :count then o.refCount - :count else 0 end"
+      + " where o.key = :key")
+  int decrementBy(@Param("key") String key, @Param("count") long count);
+
+  /** Records that every thumbnail of the object has been stored. */
+  @Transactional
+  @Modifying
+  @Query("update StoredObject o set o.thumbnails = true where o.key = :key")
+  int markThumbnails(@Param("key") String key);
+
+  @Query("select o.key from StoredObject o where o.key in :keys and o.thumbnails = true")
+  List<String> findWithThumbnails(@Param("keys") Collection<String> keys);
+
+  /** Drops leaked references of objects no student uses (see OrphanFileSweeper). */
+  @Transactional
+  @Modifying
+  @Query("update StoredObject o set o.refCount = 0 where o.key in :keys")
+  int resetAll(@Param("keys") Collection<String> keys);
+
+  /**
+   * Locks the rows FOR UPDATE, in key order so two purges cannot deadlock;
+   * must run inside a transaction.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select o from StoredObject o where o.key in :keys order by o.key")
+  List<StoredObject> findAllForUpdate(@Param("keys") Collection<String> keys);
+
+  @Transactional
+  @Modifying
+  @Query("delete from StoredObject o where o.key in :keys and o.refCount <= 0")
+  int deleteAllUnreferenced(@Param("keys") Collection<String> keys);
+}
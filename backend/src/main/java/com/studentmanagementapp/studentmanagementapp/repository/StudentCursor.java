@@ -0,0 +1,76 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+
+import jakarta.persistence.Tuple;
+
+/**
+ * Position of the last row of a page, encoded as an opaque URL-safe token.
+ * Only the columns of the chosen sort order are populated.
+ */
+public record StudentCursor(StudentSort sort, long id, String lName, String fName, String contact) {
+
+  public static StudentCursor after(StudentSort sort, Student last) {
+    return switch (sort) {
+      case ID -> new StudentCursor(sort, last.getId(), null, null, null);
+      case NAME -> new StudentCursor(sort, last.getId(), last.getLName(), last.getFName(), null);
+      case CONTACT -> new StudentCursor(sort, last.getId(), null, null, last.getContact());
+    };
+  }
+
+  /** Same as {@link #after(StudentSort, Student)} for a row selected by findPageFields. */
+  public static StudentCursor after(StudentSort sort, Tuple last) {
+    long id = last.get(StudentField.ID.getParam(), Long.class);
+    return switch (sort) {
+      case ID -> new StudentCursor(sort, id, null, null, null);
+      case NAME -> new StudentCursor(sort, id, last.get(StudentField.LAST_NAME.getParam(), String.class),
+          last.get(StudentField.FIRST_NAME.getParam(), String.class), null);
+      case CONTACT -> new StudentCursor(sort, id, null, null, last.get(StudentField.CONTACT.getParam(), String.class));
+    };
+  }
+
+  public String encode() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(sort.ordinal());
+      out.writeLong(id);
+      switch (sort) {
+        case NAME -> {
+          out.writeUTF(lName);
+          out.writeUTF(fName);
+        }
+        case CONTACT -> out.writeUTF(contact);
+        default -> {
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to encode cursor", e);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+  }
+
+  public static StudentCursor decode(String token, StudentSort expectedSort) {
+    try (DataInputStream in = new DataInputStream(
+        new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+      StudentSort sort = StudentSort.values()[in.readUnsignedByte()];
+      if (sort != expectedSort) {
+        throw new IllegalArgumentException("Cursor does not match sort '" + expectedSort.getParam() + "'.");
+      }
+      long id = in.readLong();
+      return switch (sort) {
+        case ID -> new StudentCursor(sort, id, null, null, null);
+        case NAME -> new StudentCursor(sort, id, in.readUTF(), in.readUTF(), null);
+        case CONTACT -> new StudentCursor(sort, id, null, null, in.readUTF());
+      };
+    } catch (IOException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid cursor.");
+    }
+  }
+}
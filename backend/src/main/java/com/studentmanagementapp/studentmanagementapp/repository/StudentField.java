@@ -0,0 +1,65 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Student fields that can be requested with {@code fields=} on the list
+ * endpoint. Each maps to one selected column; "picture" also yields the
+ * thumbnail URLs.
+ */
+public enum StudentField {
+  ID("id", "s.id"),
+  FIRST_NAME("fName", "s.fName"),
+  LAST_NAME("lName", "s.lName"),
+  CONTACT("contact", "s.contact"),
+  ADDRESS("address", "s.address"),
+  PICTURE("picture", "s.picture"),
+  VERSION("version", "s.version");
+
+  private final String param;
+  private final String path;
+
+  StudentField(String param, String path) {
+    this.param = param;
+    this.path = path;
+  }
+
+  /** JSON property name, also used as the tuple alias. */
+  public String getParam() {
+    return param;
+  }
+
+  /** JPQL path of the column. */
+  public String getPath() {
+    return path;
+  }
+
+  /**
+   * Parse a comma-separated list such as "id,fName,lName".
+   */
+  public static Set<StudentField> fromParams(String params) {
+    Set<StudentField> fields = EnumSet.noneOf(StudentField.class);
+    for (String param : params.split(",")) {
+      String name = param.trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      fields.add(fromParam(name));
+    }
+    if (fields.isEmpty()) {
+      throw new IllegalArgumentException("fields must name at least one field.");
+    }
+    return fields;
+  }
+
+  private static StudentField fromParam(String param) {
+    for (StudentField field : values()) {
+      if (field.param.equalsIgnoreCase(param)) {
+        return field;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported field '" + param
+        + "'. Use any of: id, fName, lName, contact, address, picture, version.");
+  }
+}
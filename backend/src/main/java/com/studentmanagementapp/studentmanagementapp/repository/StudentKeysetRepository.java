@@ -0,0 +1,30 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.util.List;
+import java.util.Set;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+
+import jakarta.persistence.Tuple;
+
+/**
+ * Keyset (seek) pagination over the students table.
+ */
+public interface StudentKeysetRepository {
+  /**
+   * Fetch the rows that follow the given cursor in the given order.
+   *
+   * @param sort  the sort order
+   * @param after the last row of the previous page, or null for the first page
+   * @param limit maximum number of rows to return
+   * @return up to {@code limit} rows in sort order
+   */
+  List<Student> findPage(StudentSort sort, StudentCursor after, int limit);
+
+  /**
+   * Like findPage, but selects only the given fields (plus the columns the
+   * cursor needs) into tuples aliased by {@link StudentField#getParam()}.
+   * No entities are created, so nothing is hydrated or tracked.
+   */
+  List<Tuple> findPageFields(StudentSort sort, StudentCursor after, int limit, Set<StudentField> fields);
+}
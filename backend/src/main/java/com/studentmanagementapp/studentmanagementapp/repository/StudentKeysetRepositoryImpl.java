@@ -0,0 +1,95 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Seeks past the cursor with a row-value comparison so PostgreSQL can walk the
+ * matching composite index instead of counting through an OFFSET.
+ *
+ * Read-only transactions put the Hibernate session in read-only mode, so
+ * loaded entities keep no dirty-checking snapshot and nothing is flushed.
+ */
+@Transactional(readOnly = true)
+public class StudentKeysetRepositoryImpl implements StudentKeysetRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Student> findPage(StudentSort sort, StudentCursor after, int limit) {
+    return query("s", Student.class, sort, after, limit).getResultList();
+  }
+
+  @Override
+  public List<Tuple> findPageFields(StudentSort sort, StudentCursor after, int limit, Set<StudentField> fields) {
+    Set<StudentField> columns = EnumSet.copyOf(fields);
+    columns.addAll(cursorFields(sort));
+    String select = columns.stream()
+        .map(field -> field.getPath() + " as " + field.getParam())
+        .collect(Collectors.joining(", "));
+    return query(select, Tuple.class, sort, after, limit).getResultList();
+  }
+
+  private <T> TypedQuery<T> query(String select, Class<T> type, StudentSort sort, StudentCursor after,
+      int limit) {
+    StringBuilder jpql = new StringBuilder("select ").append(select).append(" from Student s");
+    if (after != null) {
+      jpql.append(" where ").append(predicate(sort));
+    }
+    jpql.append(" order by ").append(orderBy(sort));
+
+    TypedQuery<T> query = entityManager.createQuery(jpql.toString(), type)
+        .setMaxResults(limit);
+    if (after != null) {
+      bind(query, after);
+    }
+    return query;
+  }
+
+  private static Set<StudentField> cursorFields(StudentSort sort) {
+    return switch (sort) {
+      case ID -> EnumSet.of(StudentField.ID);
+      case NAME -> EnumSet.of(StudentField.ID, StudentField.LAST_NAME, StudentField.FIRST_NAME);
+      case CONTACT -> EnumSet.of(StudentField.ID, StudentField.CONTACT);
+    };
+  }
+
+  private String predicate(StudentSort sort) {
+    return switch (sort) {
+      case ID -> "s.id > :id";
+      case NAME -> "(s.lName, s.fName, s.id) > (:lName, :fName, :id)";
+      // contact is unique, so it is a total order on its own
+      case CONTACT -> "s.contact > :contact";
+    };
+  }
+
+  private String orderBy(StudentSort sort) {
+    return switch (sort) {
+      case ID -> "s.id";
+      case NAME -> "s.lName, s.fName, s.id";
+      case CONTACT -> "s.contact";
+    };
+  }
+
+  private void bind(TypedQuery<?> query, StudentCursor after) {
+    switch (after.sort()) {
+      case ID -> query.setParameter("id", after.id());
+      case NAME -> query.setParameter("lName", after.lName())
+          .setParameter("fName", after.fName())
+          .setParameter("id", after.id());
+      case CONTACT -> query.setParameter("contact", after.contact());
+    }
+  }
+}
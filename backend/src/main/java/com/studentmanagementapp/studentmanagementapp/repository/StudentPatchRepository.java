@@ -0,0 +1,19 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.util.Map;
+
+/**
+ * Partial updates that write only the columns a request changed.
+ */
+public interface StudentPatchRepository {
+  /**
+   * Set the given columns and bump the version with one UPDATE, without
+   * loading the row.
+   *
+   * @param values          new values of fName, lName, contact or address
+   * @param expectedVersion only update this version, or null for any
+   * @return the number of rows updated: 0 if the student does not exist or
+   *         its version is not the expected one
+   */
+  int updateFields(Long id, Long expectedVersion, Map<StudentField, String> values);
+}
@@ -0,0 +1,44 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Builds the SET clause from the changed fields, so an address change is
+ * "update students set address=?, version=version+1 where id=? and version=?"
+ * rather than a select followed by a full-row update.
+ */
+public class StudentPatchRepositoryImpl implements StudentPatchRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional
+  public int updateFields(Long id, Long expectedVersion, Map<StudentField, String> values) {
+    if (values.isEmpty()) {
+      throw new IllegalArgumentException("At least one field must be updated.");
+    }
+    String set = values.keySet().stream()
+        .map(field -> field.getPath() + " = :" + field.getParam())
+        .collect(Collectors.joining(", "));
+    StringBuilder jpql = new StringBuilder("update Student s set ").append(set)
+        .append(", s.version = s.version + 1 where s.id = :id");
+    if (expectedVersion != null) {
+      jpql.append(" and s.version = :version");
+    }
+
+    Query query = entityManager.createQuery(jpql.toString()).setParameter("id", id);
+    values.forEach((field, value) -> query.setParameter(field.getParam(), value));
+    if (expectedVersion != null) {
+      query.setParameter("version", expectedVersion);
+    }
+    return query.executeUpdate();
+  }
+}
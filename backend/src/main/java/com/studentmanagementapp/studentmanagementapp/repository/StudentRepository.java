@@ -1,9 +1,65 @@
 package com.studentmanagementapp.studentmanagementapp.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.studentmanagementapp.studentmanagementapp.entity.Student;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentKeysetRepository,
+    StudentPatchRepository {
   boolean existsByContact(String contact);
+
+  /**
+   * Returns the subset of the given contacts that already belong to a student.
+   */
+  @Query("select s.contact from Student s where s.contact in :contacts")
+  List<String> findExistingContacts(@Param("contacts") Collection<String> contacts);
+
+  @Query("select s.picture from Student s where s.id = :id")
+  Optional<String> findPictureById(@Param("id") Long id);
+
+  /** Loads the student and holds its row lock until the transaction ends. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from Student s where s.id = :id")
+  Optional<Student> findByIdForUpdate(@Param("id") Long id);
+
+  /**
+   * Returns the subset of the given picture keys that some student still uses.
+   */
+  @Query("select distinct s.picture from Student s where s.picture in :keys")
+  List<String> findReferencedPictures(@Param("keys") Collection<String> keys);
+
+  /**
+   * Streams every student in id order through a server-side cursor.
+   * Must be consumed inside a transaction (PostgreSQL ignores the fetch size
+   * in auto-commit mode) and closed by the caller.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+  })
+  Stream<Student> streamAllByOrderByIdAsc();
+
+  /**
+   * Streams every non-null picture value; same cursor rules as streamAllByOrderByIdAsc.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select s.picture from Student s where s.picture is not null")
+  Stream<String> streamPictures();
 }
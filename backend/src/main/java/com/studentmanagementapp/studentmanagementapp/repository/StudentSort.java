@@ -0,0 +1,31 @@
+package com.studentmanagementapp.studentmanagementapp.repository;
+
+/**
+ * Sort orders supported by the keyset-paginated student list.
+ * Every order ends on a unique column so the keyset is a strict total order.
+ */
+public enum StudentSort {
+  ID("id"),
+  NAME("name"),
+  CONTACT("contact");
+
+  private final String param;
+
+  StudentSort(String param) {
+    this.param = param;
+  }
+
+  public String getParam() {
+    return param;
+  }
+
+  public static StudentSort fromParam(String param) {
+    for (StudentSort sort : values()) {
+      if (sort.param.equalsIgnoreCase(param)) {
+        return sort;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unsupported sort '" + param + "'. Use one of: id, name, contact.");
+  }
+}
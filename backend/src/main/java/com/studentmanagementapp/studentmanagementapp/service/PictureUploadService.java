@@ -0,0 +1,32 @@
+package com.studentmanagementapp.studentmanagementapp.service;
+
+import java.io.InputStream;
+
+import com.studentmanagementapp.studentmanagementapp.dto.PictureUploadDTO;
+
+/**
+ * Resumable (tus-style) picture uploads: the client announces the size,
+ * sends the bytes in any number of chunks at the current offset, and can
+ * ask for the offset after a dropped connection.
+ */
+public interface PictureUploadService {
+
+  /**
+   * @param length      total size in bytes
+   * @param fileName    original file name, for the extension; may be null
+   * @param contentType picture content type; may be null
+   */
+  PictureUploadDTO startUpload(Long studentId, long length, String fileName, String contentType);
+
+  PictureUploadDTO getUpload(Long studentId, String uploadId);
+
+  /**
+   * Append the body at offset. The last chunk stores the picture and
+   * attaches it to the student, replacing the previous one.
+   *
+   * @param offset where the client believes the upload stands; must match
+   */
+  PictureUploadDTO appendChunk(Long studentId, String uploadId, long offset, InputStream body);
+
+  void cancelUpload(Long studentId, String uploadId);
+}
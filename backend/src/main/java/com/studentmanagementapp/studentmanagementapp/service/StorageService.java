@@ -1,21 +1,108 @@
 package com.studentmanagementapp.studentmanagementapp.service;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.web.multipart.MultipartFile;
 
+import com.studentmanagementapp.studentmanagementapp.exception.PurgeFailedException;
+
 public interface StorageService {
   /**
-   * Upload a file and return its accessible URL.
+   * Upload a file and return its object key.
    *
    * @param file   the multipart file to store
    * @param folder sub-folder / path prefix (e.g. "students")
-   * @return public URL or relative URL of the stored file
+   * @return object key of the stored file (e.g. "students/uuid.jpg")
    */
   String uploadFile(MultipartFile file, String folder);
 
+  /**
+   * Begin a resumable upload. The content arrives through appendUpload calls,
+   * possibly spread over several requests, and only gets its content-addressed
+   * key in completeUpload.
+   *
+   * @param folder      sub-folder of the finished object (e.g. "students")
+   * @param uploadId    unique id, used to name the partial object
+   * @param contentType content type of the finished object, or null
+   * @return backend state to store with the upload and pass to the next call
+   */
+  byte[] startUpload(String folder, String uploadId, String contentType);
+
+  /**
+   * Stream bytes to the end of a partial upload without holding them in
+   * memory. Reading stops at the end of the stream or after maxBytes. If the
+   * stream fails midway (a dropped client), the bytes received so far are
+   * kept and reported.
+   *
+   * @param state  state from startUpload or the previous appendUpload
+   * @param offset bytes already in the upload
+   */
+  UploadProgress appendUpload(byte[] state, long offset, InputStream in, long maxBytes);
+
+  /** Result of appendUpload: the new state and how many bytes were added. */
+  record UploadProgress(byte[] state, long written) {
+  }
+
+  /**
+   * Finish a resumable upload and store it like uploadFile would: under its
+   * content address, with one new reference and thumbnails.
+   *
+   * @param extension file extension including the dot, or ""
+   * @return object key of the stored file
+   */
+  String completeUpload(byte[] state, String folder, String extension);
+
+  /** Discard a resumable upload that will not be completed. */
+  void abortUpload(byte[] state);
+
   /**
    * Delete a previously uploaded file.
    *
-   * @param fileUrlOrName the URL or file-name returned by uploadFile
+   * @param key the object key returned by uploadFile (legacy full URLs are accepted too)
+   */
+  void deleteFile(String key);
+
+  /**
+   * Remove objects and their thumbnails from storage in as few calls as the
+   * backend allows. Unlike deleteFile this does not touch reference counts:
+   * callers (the cleanup queue, the orphan sweeper) have already established
+   * that nothing uses the objects. Missing objects are skipped.
+   *
+   * @param keys object keys (legacy full URLs are accepted too)
+   * @return bytes freed, as far as the backend can tell
+   * @throws PurgeFailedException if only some of the objects were deleted
+   */
+  long purgeFiles(Collection<String> keys);
+
+  /**
+   * List the objects stored directly in a folder (thumbnails are not included).
+   *
+   * @param folder e.g. "students"
+   */
+  List<StoredFile> listFiles(String folder);
+
+  /** An object as seen by listFiles. */
+  record StoredFile(String key, long size, Instant lastModified) {
+  }
+
+  /**
+   * Turn a stored object key into a URL a browser can load.
+   *
+   * @param key object key, or null
+   * @return the URL, or null when key is null
+   */
+  String resolveUrl(String key);
+
+  /**
+   * Resolve many keys at once; list responses use this so per-key work is
+   * shared across the page.
+   *
+   * @param keys object keys (nulls are ignored)
+   * @return URL per key
    */
-  void deleteFile(String fileUrlOrName);
+  Map<String, String> resolveUrls(Collection<String> keys);
 }
@@ -0,0 +1,13 @@
+package com.studentmanagementapp.studentmanagementapp.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface StudentChangeFeed {
+  /**
+   * Open a server-sent event stream of committed student changes.
+   *
+   * @param lastEventId id of the last event the client received, to resume
+   *                    after a reconnect; null for a new client
+   */
+  SseEmitter subscribe(Long lastEventId);
+}
@@ -0,0 +1,16 @@
+package com.studentmanagementapp.studentmanagementapp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentFileFormat;
+
+public interface StudentExportService {
+  /**
+   * Write every student to the given stream without holding the roster in memory.
+   *
+   * @param format the output format
+   * @param out    destination stream, typically the HTTP response body
+   */
+  void exportStudents(StudentFileFormat format, OutputStream out) throws IOException;
+}
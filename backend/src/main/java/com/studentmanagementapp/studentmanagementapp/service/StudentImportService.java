@@ -0,0 +1,20 @@
+package com.studentmanagementapp.studentmanagementapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.studentmanagementapp.studentmanagementapp.dto.ImportReportDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentFileFormat;
+
+public interface StudentImportService {
+  /**
+   * Create students in bulk from a CSV (with header row) or NDJSON stream.
+   * Rows are validated and inserted independently; the report lists the
+   * outcome of every row.
+   *
+   * @param format the input format
+   * @param in     the uploaded file content
+   * @return per-row results and totals
+   */
+  ImportReportDTO importStudents(StudentFileFormat format, InputStream in) throws IOException;
+}
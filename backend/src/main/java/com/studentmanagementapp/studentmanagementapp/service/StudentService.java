@@ -1,19 +1,75 @@
 package com.studentmanagementapp.studentmanagementapp.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import com.studentmanagementapp.studentmanagementapp.dto.BatchResultDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.PageDTO;
 import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentField;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentSort;
 
 public interface StudentService {
-  List<StudentDTO> getAllStudents();
+  /**
+   * Return one keyset page of students.
+   *
+   * @param sort   the sort order
+   * @param cursor the {@code next} cursor of the previous page, or null for the first page
+   * @param size   requested page size, capped at the configured maximum
+   */
+  PageDTO<StudentDTO> getAllStudents(StudentSort sort, String cursor, int size);
+
+  /**
+   * Like getAllStudents, but reads and returns only the given fields.
+   *
+   * @return one map per student, keyed by field name
+   */
+  PageDTO<Map<String, Object>> getStudentFields(StudentSort sort, String cursor, int size,
+      Set<StudentField> fields);
 
   StudentDTO getStudentById(Long id);
 
+  /**
+   * Search names, contact and address for every term of the query.
+   *
+   * @param query whitespace-separated terms; three or more characters match
+   *              anywhere in a field, shorter terms the start of a word
+   * @param limit maximum number of results, capped at the configured maximum
+   * @return matches ranked best first
+   */
+  List<StudentDTO> searchStudents(String query, int limit);
+
   StudentDTO saveStudent(StudentDTO dto, MultipartFile profileImage);
 
   StudentDTO updateStudent(Long id, StudentDTO dto, MultipartFile profileImage);
 
+  /**
+   * Apply a JSON merge patch (RFC 7396) with one UPDATE of the named columns.
+   *
+   * @param patch           new values keyed by fName, lName, contact or address;
+   *                        absent fields are left as they are
+   * @param expectedVersion the version the client last read, or null to
+   *                        update whatever version is stored
+   */
+  StudentDTO patchStudent(Long id, Map<String, Object> patch, Long expectedVersion);
+
   void deleteStudent(Long id);
+
+  /**
+   * Load many students with one query.
+   *
+   * @param ids student ids, at most the configured batch maximum
+   */
+  BatchResultDTO getStudents(List<Long> ids);
+
+  /**
+   * Delete many students with one statement and release their pictures in
+   * one storage batch.
+   *
+   * @param ids student ids, at most the configured batch maximum
+   */
+  BatchResultDTO deleteStudents(List<Long> ids);
 }
@@ -0,0 +1,112 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads profile pictures after the student row is committed and fills in
+ * {@code Student.picture} once the upload finishes (app.storage.async-upload=true).
+ *
+ * The work queue is bounded: when it is full the upload runs on the caller's
+ * thread, which throttles producers. Queued images wait in temp files, so a
+ * full queue costs disk rather than heap.
+ *
+ * With spring.threads.virtual.enabled the workers are virtual threads. The pool
+ * is kept anyway: its job is to cap concurrent uploads and buffered images,
+ * not to save threads.
+ */
+@Slf4j
+@Component
+public class AsyncPictureUploader implements MeterBinder {
+
+  private final StorageService storageService;
+  private final PictureAttacher pictureAttacher;
+  private final ThreadPoolExecutor executor;
+
+  public AsyncPictureUploader(StorageService storageService, PictureAttacher pictureAttacher,
+      @Value("${app.storage.upload-executor.core-size:4}") int coreSize,
+      @Value("${app.storage.upload-executor.max-size:8}") int maxSize,
+      @Value("${app.storage.upload-executor.queue-capacity:100}") int queueCapacity,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    this.storageService = storageService;
+    this.pictureAttacher = pictureAttacher;
+    ThreadFactory threads = virtualThreads
+        ? Thread.ofVirtual().name("picture-upload-", 0).factory()
+        : Thread.ofPlatform().name("picture-upload-", 0).factory();
+    this.executor = new ThreadPoolExecutor(coreSize, maxSize, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), threads,
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Queue an upload for the given student. When called inside a transaction the
+   * upload starts only after it commits, so the row is guaranteed to exist.
+   */
+  public void submit(Long studentId, MultipartFile image) {
+    // The container deletes the request's temp file once the response is sent
+    SpooledMultipartFile copy = SpooledMultipartFile.copyOf(image);
+    Runnable task = () -> upload(studentId, copy);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          if (status == STATUS_COMMITTED) {
+            executor.execute(task);
+          } else {
+            copy.delete();
+          }
+        }
+      });
+    } else {
+      executor.execute(task);
+    }
+  }
+
+  ThreadPoolExecutor getExecutor() {
+    return executor;
+  }
+
+  /** Pool size, active uploads and queue depth as executor.* meters (name=picture-upload). */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    new ExecutorServiceMetrics(executor, "picture-upload", Tags.empty()).bindTo(registry);
+  }
+
+  private void upload(Long studentId, SpooledMultipartFile image) {
+    try {
+      String picture = storageService.uploadFile(image, "students");
+      // Released again if the student was deleted while the upload was in flight
+      pictureAttacher.attach(studentId, picture);
+    } catch (RuntimeException e) {
+      log.error("Background picture upload failed for student {}", studentId, e);
+    } finally {
+      image.delete();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      log.warn("Picture uploads still running at shutdown: {}", executor.getActiveCount());
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filter over every contact in the students table, so a write with a
+ * clearly-new contact skips the duplicate probe. "Might contain" still means
+ * a query; a miss is definite.
+ *
+ * Contacts are only ever added. A contact that was changed or deleted keeps
+ * its bits and costs one needless probe until the filter is rebuilt at the
+ * next startup (StudentSearchIndexLoader). Until that first load completes
+ * every contact is reported as possibly present.
+ */
+@Component
+public class ContactFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final long minEntries;
+  private final double falsePositiveRate;
+
+  private volatile Bits bits;
+  private volatile boolean loaded;
+
+  public ContactFilter(
+      @Value("${app.students.contact-filter.expected-entries:100000}") long minEntries,
+      @Value("${app.students.contact-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("contact-filter.false-positive-rate must be between 0 and 1.");
+    }
+    this.minEntries = Math.max(minEntries, 1);
+    this.falsePositiveRate = falsePositiveRate;
+    this.bits = new Bits(this.minEntries, falsePositiveRate);
+  }
+
+  /** False only if no student has ever been stored with this contact. */
+  public boolean mightContain(String contact) {
+    return !loaded || bits.mightContain(contact);
+  }
+
+  public void add(String contact) {
+    bits.add(contact);
+  }
+
+  /**
+   * Start a rebuild sized for the given row count (at least the configured
+   * expected-entries, with room to double). Adds made from now on land in the
+   * new filter, so rows committed after the loader's snapshot are kept.
+   */
+  public void beginLoad(long rows) {
+    loaded = false;
+    bits = new Bits(Math.max(minEntries, rows * 2), falsePositiveRate);
+  }
+
+  public void endLoad() {
+    loaded = true;
+  }
+
+  /** Bit array with k probes derived from two halves of a 64-bit hash. */
+  private static final class Bits {
+
+    private final AtomicLongArray words;
+    private final long size;
+    private final int hashes;
+
+    Bits(long entries, double falsePositiveRate) {
+      long m = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (LN2 * LN2));
+      // Probe indexes are non-negative ints, so 2^31 bits is the useful maximum
+      int wordCount = (int) Math.min(1L << 25, Math.max(1, (m + 63) >>> 6));
+      this.words = new AtomicLongArray(wordCount);
+      this.size = (long) wordCount << 6;
+      this.hashes = Math.max(1, (int) Math.round((double) size / entries * LN2));
+    }
+
+    void add(String contact) {
+      long hash = hash(contact);
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = index(h1 + i * h2);
+        long mask = 1L << bit;
+        int word = (int) (bit >>> 6);
+        if ((words.get(word) & mask) == 0) {
+          words.getAndUpdate(word, w -> w | mask);
+        }
+      }
+    }
+
+    boolean mightContain(String contact) {
+      long hash = hash(contact);
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashes; i++) {
+        long bit = index(h1 + i * h2);
+        if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private long index(int combined) {
+      return (combined & 0x7fffffffL) % size;
+    }
+
+    /** 64-bit FNV-1a over the UTF-8 bytes with a murmur finaliser. */
+    private static long hash(String contact) {
+      long h = 0xcbf29ce484222325L;
+      for (byte b : contact.getBytes(StandardCharsets.UTF_8)) {
+        h ^= b;
+        h *= 0x100000001b3L;
+      }
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb93c185a6d53L;
+      h ^= h >>> 33;
+      return h;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * Helpers for content-addressed object keys (folder/&lt;sha256&gt;.ext).
+ */
+final class ContentAddress {
+
+  private ContentAddress() {
+  }
+
+  static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Lower-cased extension of the original file name including the dot, or "".
+   */
+  static String extension(String originalFilename) {
+    if (originalFilename == null || !originalFilename.contains(".")) {
+      return "";
+    }
+    return originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+  }
+}
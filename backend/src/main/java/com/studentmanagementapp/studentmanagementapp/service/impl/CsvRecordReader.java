@@ -0,0 +1,79 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, double-quote escaped,
+ * quoted fields may contain commas, quotes ("") and line breaks.
+ */
+class CsvRecordReader {
+
+  private final Reader reader;
+  private int pending = -2;
+
+  CsvRecordReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * @return the next record, or null at end of input
+   */
+  List<String> next() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IllegalArgumentException("Unterminated quoted CSV field.");
+        }
+        if (c == '"') {
+          int n = read();
+          if (n == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            c = n;
+            continue;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == '\r' || c == -1) {
+        if (c == '\r') {
+          int n = read();
+          if (n != '\n') {
+            pending = n;
+          }
+        }
+        fields.add(field.toString());
+        return fields;
+      } else {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    if (pending != -2) {
+      int c = pending;
+      pending = -2;
+      return c;
+    }
+    return reader.read();
+  }
+}
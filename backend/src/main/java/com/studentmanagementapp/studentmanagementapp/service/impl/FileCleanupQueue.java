@@ -0,0 +1,96 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studentmanagementapp.studentmanagementapp.entity.FileDeletion;
+import com.studentmanagementapp.studentmanagementapp.exception.UploadExpiredException;
+import com.studentmanagementapp.studentmanagementapp.repository.FileDeletionRepository;
+
+/**
+ * Records pictures to release instead of deleting them while the request
+ * waits. Joins the caller's transaction, so an entry exists exactly when the
+ * row change that dropped the reference commits. FileCleanupWorker does the
+ * storage calls, with retries.
+ *
+ * The reference an upload takes is recorded the same way, ahead of time:
+ * holdUpload queues its release for later, and the transaction that writes
+ * the student row takes it back with claimUpload. A save that rolls back or
+ * never runs leaves the release in place.
+ */
+@Component
+public class FileCleanupQueue {
+
+  private final FileDeletionRepository fileDeletionRepository;
+  private final Duration unsavedUploadTtl;
+
+  public FileCleanupQueue(FileDeletionRepository fileDeletionRepository,
+      @Value("${app.storage.cleanup.unsaved-upload-ttl:1h}") Duration unsavedUploadTtl) {
+    this.fileDeletionRepository = fileDeletionRepository;
+    this.unsavedUploadTtl = unsavedUploadTtl;
+  }
+
+  /** Queue one release; null and blank keys are ignored. */
+  public void enqueue(String key) {
+    if (key != null && !key.isBlank()) {
+      enqueue(List.of(key));
+    }
+  }
+
+  /** Queue one release per key; a key listed twice is released twice. */
+  public void enqueue(Collection<String> keys) {
+    Instant now = Instant.now();
+    List<FileDeletion> entries = keys.stream()
+        .filter(key -> key != null && !key.isBlank())
+        .map(key -> new FileDeletion(null, key, false, 0, now, now, null, false))
+        .toList();
+    if (!entries.isEmpty()) {
+      fileDeletionRepository.saveAll(entries);
+    }
+  }
+
+  /**
+   * Queue the release of a reference an upload just took, due after
+   * app.storage.cleanup.unsaved-upload-ttl unless claimUpload takes it back.
+   */
+  @Transactional
+  public void holdUpload(String key) {
+    Instant now = Instant.now();
+    fileDeletionRepository.save(new FileDeletion(null, key, false, 0, now.plus(unsavedUploadTtl), now, null, true));
+  }
+
+  /**
+   * The student row now uses the uploaded object; call in the transaction
+   * that writes the row.
+   *
+   * @throws UploadExpiredException if the upload's reference was already
+   *                                released because the save took longer than the TTL
+   */
+  @Transactional
+  public void claimUpload(String key) {
+    List<FileDeletion> pending = fileDeletionRepository.findPending(key, PageRequest.of(0, 1));
+    if (pending.isEmpty()) {
+      throw new UploadExpiredException("The upload of " + key + " expired before it was saved; upload the picture again.");
+    }
+    fileDeletionRepository.delete(pending.getFirst());
+  }
+
+  /** The upload will not be saved: release its reference on the next drain. */
+  @Transactional
+  public void dropUpload(String key) {
+    if (key == null || key.isBlank()) {
+      return;
+    }
+    for (FileDeletion entry : fileDeletionRepository.findPending(key, PageRequest.of(0, 1))) {
+      entry.setPending(false);
+      entry.setNextAttemptAt(Instant.now());
+    }
+  }
+}
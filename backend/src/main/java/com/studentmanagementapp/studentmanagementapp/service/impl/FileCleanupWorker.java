@@ -0,0 +1,186 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studentmanagementapp.studentmanagementapp.entity.FileDeletion;
+import com.studentmanagementapp.studentmanagementapp.repository.FileDeletionRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the file deletion queue (see FileCleanupQueue) in batches.
+ *
+ * Each batch is handled in two steps. The first is one transaction that
+ * releases the references and marks the entries released. Entries whose
+ * object is still used elsewhere are simply dropped. The second step removes
+ * the unreferenced blobs with one StorageService.purgeFiles call, through
+ * ObjectReferenceCounter.purgeUnreferenced: an object that an identical
+ * upload acquired again in between is left in place. A failed purge is
+ * retried with exponential backoff, without releasing the references again;
+ * when only some objects fail, only their entries are kept. While a purge is
+ * in progress its entries are leased (next_attempt_at moves forward), so
+ * another instance does not pick them up.
+ */
+@Slf4j
+@Component
+public class FileCleanupWorker implements MeterBinder {
+
+  private final FileDeletionRepository fileDeletionRepository;
+  private final ObjectReferenceCounter referenceCounter;
+  private final StorageService storageService;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final Duration lease;
+
+  private final AtomicLong queueDepth = new AtomicLong();
+  private final AtomicLong filesDeleted = new AtomicLong();
+  private final AtomicLong bytesReclaimed = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+
+  public FileCleanupWorker(FileDeletionRepository fileDeletionRepository,
+      ObjectReferenceCounter referenceCounter, StorageService storageService,
+      TransactionTemplate transactionTemplate,
+      @Value("${app.storage.cleanup.batch-size:100}") int batchSize,
+      @Value("${app.storage.cleanup.initial-backoff:10s}") Duration initialBackoff,
+      @Value("${app.storage.cleanup.max-backoff:1h}") Duration maxBackoff,
+      @Value("${app.storage.cleanup.lease:5m}") Duration lease) {
+    this.fileDeletionRepository = fileDeletionRepository;
+    this.referenceCounter = referenceCounter;
+    this.storageService = storageService;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.lease = lease;
+  }
+
+  /**
+   * storage.cleanup.queue.depth, and storage.cleanup.files / .reclaimed
+   * (bytes) / .failures with source=queue.
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("storage.cleanup.queue.depth", queueDepth, AtomicLong::get)
+        .description("File deletions waiting in the outbox")
+        .register(registry);
+    FunctionCounter.builder("storage.cleanup.files", filesDeleted, AtomicLong::get)
+        .description("Stored objects removed")
+        .tag("source", "queue")
+        .register(registry);
+    FunctionCounter.builder("storage.cleanup.reclaimed", bytesReclaimed, AtomicLong::get)
+        .description("Storage freed by removed objects and their thumbnails")
+        .baseUnit("bytes")
+        .tag("source", "queue")
+        .register(registry);
+    FunctionCounter.builder("storage.cleanup.failures", failures, AtomicLong::get)
+        .description("Purge attempts that failed and were rescheduled")
+        .tag("source", "queue")
+        .register(registry);
+  }
+
+  @Scheduled(fixedDelayString = "${app.storage.cleanup.interval:10s}")
+  public void drain() {
+    Claim claim;
+    do {
+      claim = transactionTemplate.execute(status -> claim());
+      purge(claim.toPurge());
+    } while (claim.taken() == batchSize);
+    queueDepth.set(fileDeletionRepository.count());
+  }
+
+  /** Step one, in a transaction: release references and lease what needs a purge. */
+  private Claim claim() {
+    Instant now = Instant.now();
+    List<FileDeletion> due = fileDeletionRepository.findDue(now, PageRequest.of(0, batchSize));
+    Set<String> unreferenced = referenceCounter.releaseAll(due.stream()
+        .filter(entry -> !entry.isReleased())
+        .map(FileDeletion::getKey)
+        .toList());
+
+    List<FileDeletion> toPurge = new ArrayList<>();
+    for (FileDeletion entry : due) {
+      if (!entry.isReleased() && !unreferenced.contains(entry.getKey())) {
+        // Another student still uses the object
+        fileDeletionRepository.delete(entry);
+        continue;
+      }
+      entry.setReleased(true);
+      // An upload that comes due unclaimed can no longer be claimed
+      entry.setPending(false);
+      entry.setNextAttemptAt(now.plus(lease));
+      toPurge.add(entry);
+    }
+    return new Claim(due.size(), toPurge);
+  }
+
+  /** Step two, outside any transaction: one storage batch, then drop the entries. */
+  private void purge(List<FileDeletion> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    List<String> keys = entries.stream().map(FileDeletion::getKey).distinct().toList();
+    ObjectReferenceCounter.Purged purged;
+    try {
+      // Keys acquired again since the claim are skipped and stay in storage
+      purged = referenceCounter.purgeUnreferenced(keys, storageService::purgeFiles);
+    } catch (RuntimeException e) {
+      log.warn("Purging {} stored objects failed; will retry", keys.size(), e);
+      retryLater(entries, e.toString());
+      return;
+    }
+    filesDeleted.addAndGet(purged.objects());
+    bytesReclaimed.addAndGet(purged.bytes());
+
+    List<FileDeletion> failed = entries.stream().filter(entry -> purged.failed().contains(entry.getKey())).toList();
+    fileDeletionRepository.deleteAllByIdInBatch(entries.stream()
+        .filter(entry -> !purged.failed().contains(entry.getKey()))
+        .map(FileDeletion::getId)
+        .toList());
+    if (!failed.isEmpty()) {
+      log.warn("Storage did not delete {} of {} objects; will retry", purged.failed().size(), keys.size());
+      retryLater(failed, "Storage did not delete the object");
+    }
+  }
+
+  private void retryLater(List<FileDeletion> entries, String error) {
+    failures.incrementAndGet();
+    Instant now = Instant.now();
+    for (FileDeletion entry : entries) {
+      entry.setAttempts(entry.getAttempts() + 1);
+      entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+      entry.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+    }
+    fileDeletionRepository.saveAll(entries);
+  }
+
+  /** initial-backoff doubled per attempt up to max-backoff, plus up to 20% jitter. */
+  private Duration backoff(int attempts) {
+    Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+    if (delay.compareTo(maxBackoff) > 0) {
+      delay = maxBackoff;
+    }
+    return delay.plusMillis(ThreadLocalRandom.current().nextLong(delay.toMillis() / 5 + 1));
+  }
+
+  private record Claim(int taken, List<FileDeletion> toPurge) {
+  }
+}
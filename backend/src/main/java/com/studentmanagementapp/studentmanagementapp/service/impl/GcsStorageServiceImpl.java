@@ -1,51 +1,112 @@
 package com.studentmanagementapp.studentmanagementapp.service.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.UUID;
+import java.io.OutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.google.auth.oauth2.GoogleCredentials;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.cloud.RestorableState;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
-import com.google.cloud.storage.StorageOptions;
+import com.studentmanagementapp.studentmanagementapp.exception.PurgeFailedException;
+import com.studentmanagementapp.studentmanagementapp.exception.UploadConflictException;
 import com.studentmanagementapp.studentmanagementapp.service.StorageService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 /**
  * Google Cloud Storage implementation of StorageService.
- * Active on the "cloud" profile.
+ * Active on the "cloud" profile. Uses the shared client from GcsConfig; tests
+ * can pass any Storage, e.g. an in-memory one.
+ *
+ * Objects are content-addressed (folder/&lt;sha256&gt;.ext) and reference counted
+ * through ObjectReferenceCounter: a picture that is already in the bucket is
+ * not uploaded again, and deleteFile removes it only with the last reference.
+ *
+ * Resumable uploads are written to folder/uploads/&lt;uploadId&gt; through a GCS
+ * resumable session whose captured state is kept with the upload between
+ * chunks, then copied inside the bucket to their content address.
+ *
+ * Rows store only the object key. V4 signed URLs are minted on read and cached
+ * per key until shortly before they expire, so each key is signed roughly once
+ * per validity period instead of once per response.
  */
 @Service
 @Profile("cloud")
-public class GcsStorageServiceImpl implements StorageService {
-
-  @Value("${app.storage.gcs.bucket-name}")
-  private String bucketName;
+public class GcsStorageServiceImpl implements StorageService, MeterBinder {
 
-  @Value("${app.storage.gcs.credentials-path}")
-  private String credentialsPath;
+  private static final int BATCH_SIZE = 100;
+  /** Smallest chunk a GCS resumable session accepts; bounds the buffered bytes kept in the state. */
+  private static final int RESUMABLE_CHUNK_SIZE = 256 * 1024;
 
-  private final ResourceLoader resourceLoader;
+  private final Storage storage;
+  private final String bucketName;
+  private final String urlPrefix;
+  private final Duration signedUrlTtl;
+  private final LoadingCache<String, String> signedUrls;
+  private final ThumbnailGenerator thumbnailGenerator;
+  private final ObjectReferenceCounter referenceCounter;
+  private final ThumbnailIndex thumbnailIndex;
 
-  public GcsStorageServiceImpl(ResourceLoader resourceLoader) {
-    this.resourceLoader = resourceLoader;
+  public GcsStorageServiceImpl(Storage storage, ThumbnailGenerator thumbnailGenerator,
+      ObjectReferenceCounter referenceCounter, ThumbnailIndex thumbnailIndex,
+      @Value("${app.storage.gcs.bucket-name}") String bucketName,
+      @Value("${app.storage.gcs.signed-url-ttl:1h}") Duration signedUrlTtl,
+      @Value("${app.storage.gcs.signed-url-refresh-margin:5m}") Duration refreshMargin,
+      @Value("${app.storage.gcs.signed-url-cache-size:100000}") long cacheSize) {
+    this.storage = storage;
+    this.thumbnailGenerator = thumbnailGenerator;
+    this.referenceCounter = referenceCounter;
+    this.thumbnailIndex = thumbnailIndex;
+    this.bucketName = bucketName;
+    this.urlPrefix = "https://storage.googleapis.com/" + bucketName + "/";
+    this.signedUrlTtl = signedUrlTtl;
+    this.signedUrls = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .expireAfterWrite(signedUrlTtl.minus(refreshMargin))
+        .recordStats()
+        .build(this::sign);
   }
 
-  private Storage buildStorageClient() throws IOException {
-    try (InputStream credentialsStream = resourceLoader.getResource(credentialsPath).getInputStream()) {
-      GoogleCredentials credentials = GoogleCredentials.fromStream(credentialsStream)
-          .createScoped("https://www.googleapis.com/auth/cloud-platform");
-      return StorageOptions.newBuilder()
-          .setCredentials(credentials)
-          .build()
-          .getService();
-    }
+  /** Hit rate and size of the signed URL cache as cache.* meters (cache=signed-urls). */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, signedUrls, "signed-urls");
   }
 
   @Override
@@ -53,55 +114,287 @@ public class GcsStorageServiceImpl implements StorageService {
     if (file == null || file.isEmpty())
       return null;
 
-    String originalFilename = file.getOriginalFilename();
-    String extension = "";
-    if (originalFilename != null && originalFilename.contains(".")) {
-      extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
+    // Spooled to a temp file while it is hashed, then streamed to GCS from
+    // there: the picture is never held on the heap in full
+    Path spool = null;
+    try {
+      spool = Files.createTempFile("gcs-upload-", null);
+      MessageDigest digest = ContentAddress.sha256();
+      try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+        Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+      }
+      String objectName = folder + "/" + HexFormat.of().formatHex(digest.digest())
+          + ContentAddress.extension(file.getOriginalFilename());
+
+      if (referenceCounter.acquire(objectName)) {
+        try {
+          storage.createFrom(BlobInfo.newBuilder(BlobId.of(bucketName, objectName))
+              .setContentType(file.getContentType())
+              .build(), spool);
+        } catch (IOException | RuntimeException e) {
+          referenceCounter.abandon(objectName);
+          throw e;
+        }
+        submitThumbnails(objectName);
+      } else {
+        UploadOutcome.deduplicated();
+        submitMissingThumbnails(objectName);
+      }
+      return objectName;
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to upload file to GCS: " + e.getMessage(), e);
+    } finally {
+      deleteSpool(spool);
     }
+  }
 
-    String objectName = folder + "/" + UUID.randomUUID() + extension;
+  @Override
+  public byte[] startUpload(String folder, String uploadId, String contentType) {
+    String objectName = folder + "/uploads/" + uploadId;
+    WriteChannel writer = storage.writer(BlobInfo.newBuilder(BlobId.of(bucketName, objectName))
+        .setContentType(contentType)
+        .build());
+    writer.setChunkSize(RESUMABLE_CHUNK_SIZE);
+    return serialize(new ResumableUpload(objectName, writer.capture()));
+  }
 
+  @Override
+  public UploadProgress appendUpload(byte[] state, long offset, InputStream in, long maxBytes) {
+    ResumableUpload upload = deserialize(state);
+    // Not closed: closing would finalize the object
+    WriteChannel writer = upload.writer().restore();
     try {
-      Storage storage = buildStorageClient();
-      BlobId blobId = BlobId.of(bucketName, objectName);
-      BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-          .setContentType(file.getContentType())
-          .build();
-      storage.createFrom(blobInfo, file.getInputStream());
-
-      // Return a Signed URL (valid for 7 days)
-      // This works even if the bucket is private (Uniform Bucket-Level Access)
-      return storage.signUrl(blobInfo, 7, java.util.concurrent.TimeUnit.DAYS,
-          com.google.cloud.storage.Storage.SignUrlOption.withV4Signature()).toString();
+      long written = UploadChunks.copy(in, writer, maxBytes);
+      return new UploadProgress(serialize(new ResumableUpload(upload.objectName(), writer.capture())), written);
     } catch (IOException e) {
-      throw new RuntimeException("Failed to upload file to GCS: " + e.getMessage(), e);
+      throw new RuntimeException("Failed to append to GCS upload: " + e.getMessage(), e);
     }
   }
 
   @Override
-  public void deleteFile(String fileUrl) {
-    if (fileUrl == null || fileUrl.isBlank())
-      return;
+  public String completeUpload(byte[] state, String folder, String extension) {
+    ResumableUpload upload = deserialize(state);
+    try (WriteChannel writer = upload.writer().restore()) {
+      // Flushes the last buffered bytes and finalizes the partial object
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to finish GCS upload: " + e.getMessage(), e);
+    }
 
-    // Extract object name from the full GCS URL (handles signed URLs with query
-    // params)
-    String prefix = "https://storage.googleapis.com/" + bucketName + "/";
-    if (!fileUrl.startsWith(prefix))
+    // The partial object is streamed back once for the hash; the copy to the
+    // content address happens inside GCS
+    BlobId partial = BlobId.of(bucketName, upload.objectName());
+    Blob blob = storage.get(partial);
+    if (blob == null) {
+      // Completed or aborted by a concurrent request, which deleted it
+      throw new UploadConflictException("The upload " + upload.objectName() + " is no longer in storage.");
+    }
+    MessageDigest digest = ContentAddress.sha256();
+    try (InputStream in = new DigestInputStream(Channels.newInputStream(storage.reader(partial)), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read GCS upload: " + e.getMessage(), e);
+    }
+    String objectName = folder + "/" + HexFormat.of().formatHex(digest.digest()) + extension;
+    if (referenceCounter.acquire(objectName)) {
+      try {
+        storage.copy(Storage.CopyRequest.of(partial, BlobInfo.newBuilder(BlobId.of(bucketName, objectName))
+            .setContentType(blob.getContentType())
+            .build())).getResult();
+      } catch (RuntimeException e) {
+        referenceCounter.abandon(objectName);
+        throw e;
+      }
+      submitThumbnails(objectName);
+    } else {
+      UploadOutcome.deduplicated();
+      submitMissingThumbnails(objectName);
+    }
+    storage.delete(partial);
+    return objectName;
+  }
+
+  @Override
+  public void abortUpload(byte[] state) {
+    // An unfinished session expires in GCS on its own; only a finalized
+    // partial object needs deleting
+    storage.delete(BlobId.of(bucketName, deserialize(state).objectName()));
+  }
+
+  @Override
+  public void deleteFile(String key) {
+    String objectName = toObjectName(key);
+    if (objectName == null)
       return;
+    if (!referenceCounter.release(objectName))
+      return; // still used by another student
+    referenceCounter.purgeUnreferenced(List.of(objectName), this::purgeFiles);
+  }
+
+  @Override
+  public long purgeFiles(Collection<String> keys) {
+    List<BlobId> blobs = new ArrayList<>();
+    // The key each blob (object or thumbnail) was purged for
+    List<String> owners = new ArrayList<>();
+    for (String key : keys) {
+      String objectName = toObjectName(key);
+      if (objectName == null)
+        continue;
+      signedUrls.invalidate(objectName);
+      blobs.add(BlobId.of(bucketName, objectName));
+      owners.add(key);
+      for (String thumbnail : thumbnailGenerator.thumbnailKeys(objectName).values()) {
+        signedUrls.invalidate(thumbnail);
+        blobs.add(BlobId.of(bucketName, thumbnail));
+        owners.add(key);
+      }
+    }
 
-    String objectName = fileUrl.substring(prefix.length());
+    long freed = 0;
+    Set<String> failed = new HashSet<>();
+    // Batch requests carry at most 100 calls each; sizes are read in the same
+    // kind of batch just before the delete, and count only if it succeeds
+    for (int from = 0; from < blobs.size(); from += BATCH_SIZE) {
+      List<BlobId> chunk = blobs.subList(from, Math.min(from + BATCH_SIZE, blobs.size()));
+      List<Blob> found = storage.get(chunk);
+      // Per blob: true deleted, false not found, null the call failed
+      List<Boolean> deleted = storage.delete(chunk);
+      for (int i = 0; i < chunk.size(); i++) {
+        Boolean result = deleted.get(i);
+        if (result == null) {
+          failed.add(owners.get(from + i));
+        } else if (result && found.get(i) != null && found.get(i).getSize() != null) {
+          freed += found.get(i).getSize();
+        }
+      }
+    }
+    if (!failed.isEmpty()) {
+      throw new PurgeFailedException(failed, freed);
+    }
+    return freed;
+  }
 
-    // Remove query parameters from signed URLs (e.g., ?X-Goog-Algorithm=...)
-    int queryIndex = objectName.indexOf('?');
-    if (queryIndex != -1) {
-      objectName = objectName.substring(0, queryIndex);
+  @Override
+  public List<StoredFile> listFiles(String folder) {
+    List<StoredFile> files = new ArrayList<>();
+    Iterable<Blob> blobs = storage.list(bucketName,
+        Storage.BlobListOption.prefix(folder + "/"),
+        Storage.BlobListOption.currentDirectory()).iterateAll();
+    for (Blob blob : blobs) {
+      if (blob.isDirectory())
+        continue;
+      OffsetDateTime updated = blob.getUpdateTimeOffsetDateTime();
+      files.add(new StoredFile(blob.getName(), blob.getSize() == null ? 0 : blob.getSize(),
+          updated == null ? Instant.EPOCH : updated.toInstant()));
     }
+    return files;
+  }
 
+  @Override
+  public String resolveUrl(String key) {
+    String objectName = toObjectName(key);
+    return objectName == null ? null : signedUrls.get(objectName);
+  }
+
+  @Override
+  public Map<String, String> resolveUrls(Collection<String> keys) {
+    Map<String, String> objectNames = new HashMap<>();
+    for (String key : keys) {
+      String objectName = toObjectName(key);
+      if (objectName != null) {
+        objectNames.put(key, objectName);
+      }
+    }
+    // One bulk cache lookup; only the misses are signed
+    Map<String, String> urls = signedUrls.getAll(objectNames.values());
+    Map<String, String> result = new HashMap<>();
+    objectNames.forEach((key, objectName) -> result.put(key, urls.get(objectName)));
+    return result;
+  }
+
+  private void store(String objectName, byte[] content, String contentType) {
+    BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, objectName))
+        .setContentType(contentType)
+        .build();
+    storage.create(blobInfo, content);
+  }
+
+  private void submitThumbnails(String objectName) {
+    thumbnailGenerator.submit(objectName, () -> open(objectName), this::store,
+        () -> thumbnailIndex.markReady(objectName));
+  }
+
+  /** A deduplicated upload makes the thumbnails an earlier one skipped or failed to make. */
+  private void submitMissingThumbnails(String objectName) {
+    if (!thumbnailIndex.hasThumbnails(objectName)) {
+      submitThumbnails(objectName);
+    }
+  }
+
+  /** Streams a stored object; thumbnail jobs read the original this way when they run. */
+  private InputStream open(String objectName) {
+    return Channels.newInputStream(storage.reader(BlobId.of(bucketName, objectName)));
+  }
+
+  private static void deleteSpool(Path spool) {
+    if (spool == null)
+      return;
     try {
-      Storage storage = buildStorageClient();
-      storage.delete(BlobId.of(bucketName, objectName));
+      Files.deleteIfExists(spool);
+    } catch (IOException e) {
+      // Left in the temp directory; nothing references it
+    }
+  }
+
+  private static byte[] serialize(ResumableUpload upload) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(upload);
     } catch (IOException e) {
-      throw new RuntimeException("Failed to delete file from GCS: " + e.getMessage(), e);
+      throw new UncheckedIOException(e);
     }
+    return bytes.toByteArray();
+  }
+
+  private static ResumableUpload deserialize(byte[] state) {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+      return (ResumableUpload) in.readObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Unreadable upload state", e);
+    }
+  }
+
+  /**
+   * Persisted state of a resumable upload: the partial object and the
+   * captured session, including at most one chunk of buffered bytes.
+   */
+  private record ResumableUpload(String objectName, RestorableState<WriteChannel> writer)
+      implements Serializable {
+  }
+
+  private String sign(String objectName) {
+    // Signed URLs work even if the bucket is private (Uniform Bucket-Level Access)
+    BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, objectName)).build();
+    return storage.signUrl(blobInfo, signedUrlTtl.toSeconds(), TimeUnit.SECONDS,
+        Storage.SignUrlOption.withV4Signature()).toString();
+  }
+
+  /**
+   * Accepts an object key or a legacy full (possibly signed) URL and returns
+   * the object name, or null for blank values and URLs outside this bucket.
+   */
+  private String toObjectName(String key) {
+    if (key == null || key.isBlank())
+      return null;
+    if (!key.startsWith("https://"))
+      return key;
+    if (!key.startsWith(urlPrefix))
+      return null;
+
+    String objectName = key.substring(urlPrefix.length());
+    // Remove query parameters from signed URLs (e.g., ?X-Goog-Algorithm=...)
+    int queryIndex = objectName.indexOf('?');
+    return queryIndex != -1 ? objectName.substring(0, queryIndex) : objectName;
   }
 }
@@ -1,22 +1,51 @@
 package com.studentmanagementapp.studentmanagementapp.service.impl;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.studentmanagementapp.studentmanagementapp.exception.PurgeFailedException;
 import com.studentmanagementapp.studentmanagementapp.service.StorageService;
 
 /**
  * Local file-system implementation of StorageService.
  * Active on the "local" profile.
+ *
+ * Files are content-addressed: the upload is hashed (SHA-256) while it is
+ * written to a temp file and stored as folder/&lt;hash&gt;.ext, so identical
+ * pictures share one file. ObjectReferenceCounter tracks the students using
+ * each file; deleteFile removes it only with the last reference.
+ *
+ * Resumable uploads are appended to .tmp/uploads/&lt;uploadId&gt; through a
+ * FileChannel and hashed once complete.
  */
 @Service
 @Profile("local")
@@ -25,44 +54,245 @@ public class LocalStorageServiceImpl implements StorageService {
   @Value("${app.storage.upload-dir:uploads/}")
   private String uploadDir;
 
+  private final ThumbnailGenerator thumbnailGenerator;
+  private final ObjectReferenceCounter referenceCounter;
+  private final ThumbnailIndex thumbnailIndex;
+
+  public LocalStorageServiceImpl(ThumbnailGenerator thumbnailGenerator, ObjectReferenceCounter referenceCounter,
+      ThumbnailIndex thumbnailIndex) {
+    this.thumbnailGenerator = thumbnailGenerator;
+    this.referenceCounter = referenceCounter;
+    this.thumbnailIndex = thumbnailIndex;
+  }
+
   @Override
   public String uploadFile(MultipartFile file, String folder) {
     if (file == null || file.isEmpty())
       return null;
 
-    String originalFilename = file.getOriginalFilename();
-    String extension = "";
-    if (originalFilename != null && originalFilename.contains(".")) {
-      extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
-    }
-
-    String uniqueFileName = UUID.randomUUID() + extension;
+    String extension = ContentAddress.extension(file.getOriginalFilename());
 
     // Resolve to an absolute path anchored at the project working directory
     // so files are never written into Tomcat's temp directory
-    Path baseDir = Paths.get(System.getProperty("user.dir")).toAbsolutePath();
-    Path dirPath = baseDir.resolve(uploadDir).resolve(folder);
+    Path dirPath = uploadRoot().resolve(folder);
+    Path tempDir = uploadRoot().resolve(".tmp");
 
     try {
       Files.createDirectories(dirPath);
-      Path filePath = dirPath.resolve(uniqueFileName);
-      file.transferTo(filePath.toAbsolutePath().toFile());
-      // Return a URL-friendly relative path with forward slashes
-      return "/" + uploadDir + folder + "/" + uniqueFileName;
+      Files.createDirectories(tempDir);
+      Path tempFile = tempDir.resolve(UUID.randomUUID() + extension);
+
+      MessageDigest digest = ContentAddress.sha256();
+      try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+        Files.copy(in, tempFile);
+      }
+      return storeTemp(tempFile, folder + "/" + HexFormat.of().formatHex(digest.digest()) + extension);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to store file locally: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public byte[] startUpload(String folder, String uploadId, String contentType) {
+    Path partial = partialPath(uploadId);
+    try {
+      Files.createDirectories(partial.getParent());
+      Files.deleteIfExists(partial);
+      Files.createFile(partial);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to start upload: " + e.getMessage(), e);
+    }
+    // The partial file is found by the upload id alone
+    return uploadId.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public UploadProgress appendUpload(byte[] state, long offset, InputStream in, long maxBytes) {
+    Path partial = partialPath(new String(state, StandardCharsets.UTF_8));
+    try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+      // Drops bytes of an earlier chunk that were written but never acknowledged
+      channel.truncate(offset);
+      channel.position(offset);
+      return new UploadProgress(state, UploadChunks.copy(in, channel, maxBytes));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to append to upload: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String completeUpload(byte[] state, String folder, String extension) {
+    Path partial = partialPath(new String(state, StandardCharsets.UTF_8));
+    try {
+      Files.createDirectories(uploadRoot().resolve(folder));
+      MessageDigest digest = ContentAddress.sha256();
+      try (InputStream in = new DigestInputStream(Files.newInputStream(partial), digest)) {
+        in.transferTo(OutputStream.nullOutputStream());
+      }
+      return storeTemp(partial, folder + "/" + HexFormat.of().formatHex(digest.digest()) + extension);
     } catch (IOException e) {
       throw new RuntimeException("Failed to store file locally: " + e.getMessage(), e);
     }
   }
 
   @Override
-  public void deleteFile(String fileUrl) {
-    if (fileUrl == null || fileUrl.isBlank())
+  public void abortUpload(byte[] state) {
+    try {
+      Files.deleteIfExists(partialPath(new String(state, StandardCharsets.UTF_8)));
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to discard upload: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public void deleteFile(String key) {
+    if (key == null || key.isBlank())
       return;
-    String relativePath = fileUrl.startsWith("/") ? fileUrl.substring(1) : fileUrl;
-    Path baseDir = Paths.get(System.getProperty("user.dir")).toAbsolutePath();
-    File file = baseDir.resolve(relativePath).toFile();
-    if (file.exists()) {
-      file.delete();
+    if (!referenceCounter.release(key))
+      return; // still used by another student
+    referenceCounter.purgeUnreferenced(List.of(key), this::purgeFiles);
+  }
+
+  @Override
+  public long purgeFiles(Collection<String> keys) {
+    // Each delete is a blocking syscall; run them side by side
+    LongAdder freed = new LongAdder();
+    Set<String> failed = ConcurrentHashMap.newKeySet();
+    try (ExecutorService deletes = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (String key : keys) {
+        if (key != null && !key.isBlank()) {
+          deletes.execute(() -> {
+            if (!deleteWithThumbnails(key, freed)) {
+              failed.add(key);
+            }
+          });
+        }
+      }
+    }
+    if (!failed.isEmpty()) {
+      throw new PurgeFailedException(failed, freed.sum());
+    }
+    return freed.sum();
+  }
+
+  @Override
+  public List<StoredFile> listFiles(String folder) {
+    Path dir = uploadRoot().resolve(folder);
+    if (!Files.isDirectory(dir))
+      return List.of();
+    List<StoredFile> files = new ArrayList<>();
+    try (Stream<Path> paths = Files.list(dir)) {
+      for (Path path : (Iterable<Path>) paths::iterator) {
+        if (Files.isRegularFile(path)) {
+          files.add(new StoredFile(folder + "/" + path.getFileName(), Files.size(path),
+              Files.getLastModifiedTime(path).toInstant()));
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to list " + dir + ": " + e.getMessage(), e);
+    }
+    return files;
+  }
+
+  @Override
+  public String resolveUrl(String key) {
+    if (key == null || key.isBlank())
+      return null;
+    // Rows written before keys were stored already hold "/uploads/..."
+    if (key.startsWith("/"))
+      return key;
+    // Return a URL-friendly relative path with forward slashes
+    return "/" + uploadDir + key;
+  }
+
+  @Override
+  public Map<String, String> resolveUrls(Collection<String> keys) {
+    Map<String, String> urls = new HashMap<>();
+    for (String key : keys) {
+      if (key != null) {
+        urls.put(key, resolveUrl(key));
+      }
+    }
+    return urls;
+  }
+
+  /**
+   * Moves a fully written temp file to its content address, or drops it if
+   * the object is already in use. The counter decides rather than the file
+   * system: a file that still exists may be about to be purged.
+   */
+  private String storeTemp(Path tempFile, String key) throws IOException {
+    Path filePath = uploadRoot().resolve(key);
+    if (!referenceCounter.acquire(key)) {
+      Files.delete(tempFile);
+      UploadOutcome.deduplicated();
+      // Makes the thumbnails an earlier upload skipped or failed to make
+      if (!thumbnailIndex.hasThumbnails(key)) {
+        submitThumbnails(key, filePath);
+      }
+      return key;
+    }
+    try {
+      Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      referenceCounter.abandon(key);
+      throw e;
+    }
+    submitThumbnails(key, filePath);
+    return key;
+  }
+
+  private void submitThumbnails(String key, Path filePath) {
+    thumbnailGenerator.submit(key, () -> Files.newInputStream(filePath), this::store,
+        () -> thumbnailIndex.markReady(key));
+  }
+
+  private Path partialPath(String uploadId) {
+    return uploadRoot().resolve(".tmp").resolve("uploads").resolve(uploadId);
+  }
+
+  private void store(String key, byte[] content, String contentType) {
+    Path path = uploadRoot().resolve(key);
+    try {
+      Files.createDirectories(path.getParent());
+      Files.write(path, content);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to store file locally: " + e.getMessage(), e);
+    }
+  }
+
+  /** @return bytes freed */
+  /** Adds the bytes freed; false if the file or one of its thumbnails could not be deleted. */
+  private boolean deleteWithThumbnails(String key, LongAdder freed) {
+    boolean deleted = delete(toPath(key), freed);
+    for (String thumbnailKey : thumbnailGenerator.thumbnailKeys(key).values()) {
+      deleted &= delete(toPath(thumbnailKey), freed);
+    }
+    return deleted;
+  }
+
+  /** A file that is already gone counts as deleted. */
+  private static boolean delete(Path path, LongAdder freed) {
+    try {
+      long size = Files.size(path);
+      Files.delete(path);
+      freed.add(size);
+      return true;
+    } catch (NoSuchFileException e) {
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private Path uploadRoot() {
+    return Paths.get(System.getProperty("user.dir")).toAbsolutePath().resolve(uploadDir);
+  }
+
+  private Path toPath(String key) {
+    // Legacy values are "/uploads/students/x.jpg", relative to the working directory
+    if (key.startsWith("/")) {
+      return Paths.get(System.getProperty("user.dir")).toAbsolutePath().resolve(key.substring(1));
     }
+    return uploadRoot().resolve(key);
   }
 }
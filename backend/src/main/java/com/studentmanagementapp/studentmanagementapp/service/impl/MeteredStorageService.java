@@ -0,0 +1,184 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Records every StorageService call; wrapped around the active backend by MetricsConfig.
+ *
+ * - storage.requests (timer): backend, operation, outcome
+ * - storage.errors (counter): backend, operation, exception
+ * - storage.upload.bytes (summary): backend, result; one sample per file or
+ *   resumable chunk. result=deduplicated marks files whose content was
+ *   already stored, so nothing was written; only result=written reaches the backend
+ *
+ * Timers are created up front so the per-call cost is two nanoTime reads and
+ * a histogram update; only the error path looks meters up by tag.
+ */
+public class MeteredStorageService implements StorageService, MeterBinder {
+
+  private final StorageService delegate;
+  private final MeterRegistry registry;
+  private final String backend;
+  private final Operation upload;
+  private final Operation resumable;
+  private final Operation delete;
+  private final Operation purge;
+  private final Operation list;
+  private final Operation resolve;
+  private final Operation resolveBatch;
+  private final DistributionSummary writtenBytes;
+  private final DistributionSummary deduplicatedBytes;
+
+  public MeteredStorageService(StorageService delegate, MeterRegistry registry, String backend) {
+    this.delegate = delegate;
+    this.registry = registry;
+    this.backend = backend;
+    this.upload = new Operation("upload");
+    this.resumable = new Operation("resumable_upload");
+    this.delete = new Operation("delete");
+    this.purge = new Operation("purge");
+    this.list = new Operation("list");
+    this.resolve = new Operation("resolve");
+    this.resolveBatch = new Operation("resolve_batch");
+    this.writtenBytes = uploadBytes("written");
+    this.deduplicatedBytes = uploadBytes("deduplicated");
+  }
+
+  @Override
+  public String uploadFile(MultipartFile file, String folder) {
+    UploadOutcome.takeDeduplicated();
+    String key = record(upload, () -> delegate.uploadFile(file, folder));
+    boolean deduplicated = UploadOutcome.takeDeduplicated();
+    if (file != null && !file.isEmpty()) {
+      (deduplicated ? deduplicatedBytes : writtenBytes).record(file.getSize());
+    }
+    return key;
+  }
+
+  @Override
+  public byte[] startUpload(String folder, String uploadId, String contentType) {
+    return record(resumable, () -> delegate.startUpload(folder, uploadId, contentType));
+  }
+
+  @Override
+  public UploadProgress appendUpload(byte[] state, long offset, InputStream in, long maxBytes) {
+    UploadProgress progress = record(resumable, () -> delegate.appendUpload(state, offset, in, maxBytes));
+    writtenBytes.record(progress.written());
+    return progress;
+  }
+
+  @Override
+  public String completeUpload(byte[] state, String folder, String extension) {
+    try {
+      return record(upload, () -> delegate.completeUpload(state, folder, extension));
+    } finally {
+      // The chunks were counted as they arrived
+      UploadOutcome.takeDeduplicated();
+    }
+  }
+
+  @Override
+  public void abortUpload(byte[] state) {
+    record(resumable, () -> {
+      delegate.abortUpload(state);
+      return null;
+    });
+  }
+
+  @Override
+  public void deleteFile(String key) {
+    record(delete, () -> {
+      delegate.deleteFile(key);
+      return null;
+    });
+  }
+
+  @Override
+  public long purgeFiles(Collection<String> keys) {
+    return record(purge, () -> delegate.purgeFiles(keys));
+  }
+
+  @Override
+  public List<StoredFile> listFiles(String folder) {
+    return record(list, () -> delegate.listFiles(folder));
+  }
+
+  @Override
+  public String resolveUrl(String key) {
+    return record(resolve, () -> delegate.resolveUrl(key));
+  }
+
+  @Override
+  public Map<String, String> resolveUrls(Collection<String> keys) {
+    return record(resolveBatch, () -> delegate.resolveUrls(keys));
+  }
+
+  /** Lets the backend publish its own meters (e.g. the GCS signed URL cache). */
+  @Override
+  public void bindTo(MeterRegistry meterRegistry) {
+    if (delegate instanceof MeterBinder binder) {
+      binder.bindTo(meterRegistry);
+    }
+  }
+
+  private DistributionSummary uploadBytes(String result) {
+    return DistributionSummary.builder("storage.upload.bytes")
+        .description("Size of files passed to StorageService.uploadFile")
+        .baseUnit("bytes")
+        .tag("backend", backend)
+        .tag("result", result)
+        .register(registry);
+  }
+
+  private <T> T record(Operation operation, Supplier<T> call) {
+    long start = System.nanoTime();
+    try {
+      T result = call.get();
+      operation.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (RuntimeException e) {
+      operation.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      registry.counter("storage.errors",
+          "backend", backend,
+          "operation", operation.name,
+          "exception", e.getClass().getSimpleName()).increment();
+      throw e;
+    }
+  }
+
+  private final class Operation {
+    private final String name;
+    private final Timer success;
+    private final Timer failure;
+
+    Operation(String name) {
+      this.name = name;
+      this.success = timer(name, "success");
+      this.failure = timer(name, "error");
+    }
+
+    private Timer timer(String name, String outcome) {
+      return Timer.builder("storage.requests")
+          .description("StorageService calls")
+          .tag("backend", backend)
+          .tag("operation", name)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(registry);
+    }
+  }
+}
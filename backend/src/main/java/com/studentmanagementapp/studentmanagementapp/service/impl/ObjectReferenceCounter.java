@@ -0,0 +1,213 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studentmanagementapp.studentmanagementapp.entity.StoredObject;
+import com.studentmanagementapp.studentmanagementapp.exception.PurgeFailedException;
+import com.studentmanagementapp.studentmanagementapp.repository.StoredObjectRepository;
+
+/**
+ * Counts how many students reference each content-addressed object, so that
+ * identical uploads share one blob and the blob outlives every reference.
+ * acquire and release commit on their own (REQUIRES_NEW) so a lost insert
+ * race never poisons a caller's transaction; releaseAll joins the caller's
+ * transaction instead, see FileCleanupWorker.
+ *
+ * Each acquire is made on behalf of an upload and queues its own release
+ * (FileCleanupQueue.holdUpload) in the same transaction. The student row
+ * write claims it, so a reference lives only as long as the row that uses
+ * it, even if the save fails or the process dies in between.
+ *
+ * A released object keeps its row, at count zero, until purgeUnreferenced
+ * has deleted the blob. The purge holds that row locked from its check to
+ * the end of the delete, so an acquire of the same content waits for it and
+ * then finds no row (or count zero) and writes the blob again. An acquire
+ * that comes first raises the count and the purge leaves the blob alone.
+ */
+@Component
+public class ObjectReferenceCounter {
+
+  private final StoredObjectRepository storedObjectRepository;
+  private final FileCleanupQueue fileCleanupQueue;
+  private final ThumbnailIndex thumbnailIndex;
+  private final TransactionTemplate requiresNew;
+  private final TransactionTemplate required;
+
+  public ObjectReferenceCounter(StoredObjectRepository storedObjectRepository, FileCleanupQueue fileCleanupQueue,
+      ThumbnailIndex thumbnailIndex, PlatformTransactionManager transactionManager) {
+    this.storedObjectRepository = storedObjectRepository;
+    this.fileCleanupQueue = fileCleanupQueue;
+    this.thumbnailIndex = thumbnailIndex;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.required = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Add a reference to the object for an upload. It is released again after
+   * app.storage.cleanup.unsaved-upload-ttl unless the student row that uses
+   * the object calls FileCleanupQueue.claimUpload.
+   *
+   * @return true if the blob must be written: the object is new, or had no
+   *         references left and may already be purged
+   */
+  public boolean acquire(String key) {
+    while (true) {
+      Boolean mustWrite = requiresNew.execute(status -> {
+        Boolean result = storedObjectRepository.incrementLive(key) > 0 ? Boolean.FALSE
+            : storedObjectRepository.revive(key) > 0 ? Boolean.TRUE : null;
+        if (result != null) {
+          fileCleanupQueue.holdUpload(key);
+        }
+        return result;
+      });
+      if (mustWrite != null) {
+        if (mustWrite) {
+          // Revived: the blob and its thumbnails are written again
+          thumbnailIndex.forget(List.of(key));
+        }
+        return mustWrite;
+      }
+      try {
+        requiresNew.executeWithoutResult(status -> {
+          storedObjectRepository.insertFirstReference(key);
+          fileCleanupQueue.holdUpload(key);
+        });
+        return true;
+      } catch (DataIntegrityViolationException e) {
+        // Another upload of the same content registered it first; count on its row
+      }
+    }
+  }
+
+  /**
+   * Give up the reference of an acquire whose blob could not be written;
+   * it is released on the next cleanup drain.
+   */
+  public void abandon(String key) {
+    fileCleanupQueue.dropUpload(key);
+  }
+
+  /**
+   * Drop a reference to the object. Safe to call again after a failed blob
+   * delete: the count never goes below zero.
+   *
+   * @return true if nothing references the object any more, i.e. it should
+   *         be passed to purgeUnreferenced
+   */
+  public boolean release(String key) {
+    return requiresNew.execute(status -> {
+      storedObjectRepository.decrement(key);
+      // Objects stored before deduplication were never registered: single owner
+      return storedObjectRepository.findById(key).map(object -> object.getRefCount() <= 0).orElse(true);
+    });
+  }
+
+  /**
+   * Drop one reference per occurrence of each key. Runs in the caller's
+   * transaction when there is one, so the release commits together with the
+   * caller's record of it and is never applied twice.
+   *
+   * @return the distinct keys nothing references any more, to pass to purgeUnreferenced
+   */
+  public Set<String> releaseAll(Collection<String> keys) {
+    Map<String, Long> counts = keys.stream()
+        .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    if (counts.isEmpty()) {
+      return Set.of();
+    }
+    return required.execute(status -> {
+      counts.forEach(storedObjectRepository::decrementBy);
+      Set<String> unreferenced = new HashSet<>(counts.keySet());
+      storedObjectRepository.findAllById(counts.keySet()).stream()
+          .filter(object -> object.getRefCount() > 0)
+          .forEach(object -> unreferenced.remove(object.getKey()));
+      return unreferenced;
+    });
+  }
+
+  /**
+   * Delete the blobs of those objects that nothing references, then drop
+   * their rows. Runs in its own transaction that holds the rows locked while
+   * purge runs, so it keeps a connection for the length of the storage call.
+   * If purge throws, the rows stay at zero and the call can be repeated; if
+   * it reports a PurgeFailedException only the failed keys keep their rows.
+   *
+   * @param keys  object keys; legacy URLs, which are never shared, are purged without a row
+   * @param purge deletes the blobs of the given keys and returns the bytes freed
+   */
+  public Purged purgeUnreferenced(Collection<String> keys, ToLongFunction<List<String>> purge) {
+    List<String> distinct = keys.stream().distinct().toList();
+    List<String> legacy = distinct.stream().filter(ObjectReferenceCounter::isLegacy).toList();
+    List<String> addressed = distinct.stream().filter(key -> !isLegacy(key)).toList();
+    registerUnreferenced(addressed);
+
+    return requiresNew.execute(status -> {
+      List<String> unreferenced = addressed.isEmpty() ? List.of()
+          : storedObjectRepository.findAllForUpdate(addressed).stream()
+              .filter(object -> object.getRefCount() <= 0)
+              .map(StoredObject::getKey)
+              .toList();
+      List<String> doomed = new ArrayList<>(legacy);
+      doomed.addAll(unreferenced);
+      if (doomed.isEmpty()) {
+        return new Purged(0, 0, Set.of());
+      }
+      long bytes;
+      Set<String> notDeleted;
+      try {
+        bytes = purge.applyAsLong(doomed);
+        notDeleted = Set.of();
+      } catch (PurgeFailedException e) {
+        bytes = e.getFreedBytes();
+        notDeleted = e.getFailedKeys();
+      }
+      Set<String> failed = notDeleted;
+      List<String> deleted = unreferenced.stream().filter(key -> !failed.contains(key)).toList();
+      if (!deleted.isEmpty()) {
+        storedObjectRepository.deleteAllUnreferenced(deleted);
+        thumbnailIndex.forget(deleted);
+      }
+      return new Purged(doomed.size() - failed.size(), bytes, failed);
+    });
+  }
+
+  /** Result of purgeUnreferenced: objects deleted, bytes freed and keys to try again. */
+  public record Purged(int objects, long bytes, Set<String> failed) {
+  }
+
+  /** Gives keys without a row (orphans, pre-deduplication files) one at zero to lock. */
+  private void registerUnreferenced(List<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    Set<String> missing = new HashSet<>(keys);
+    storedObjectRepository.findAllById(keys).forEach(object -> missing.remove(object.getKey()));
+    for (String key : missing) {
+      try {
+        requiresNew.executeWithoutResult(status -> storedObjectRepository.insertUnreferenced(key));
+      } catch (DataIntegrityViolationException e) {
+        // Acquired in the meantime; the locked read below sees its count
+      }
+    }
+  }
+
+  /** Full URLs and "/uploads/..." paths written before objects were content-addressed. */
+  private static boolean isLegacy(String key) {
+    return key.startsWith("/") || key.startsWith("https://");
+  }
+}
@@ -0,0 +1,176 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studentmanagementapp.studentmanagementapp.entity.StoredObject;
+import com.studentmanagementapp.studentmanagementapp.repository.StoredObjectRepository;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService.StoredFile;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically removes pictures in storage that no student references,
+ * e.g. files left behind by a crash between an upload and its row write.
+ *
+ * The folder listing is compared with every Student.picture, matched on file
+ * name so legacy values ("/uploads/students/x.jpg", full GCS URLs) count too.
+ * The names are held only as a sorted array of hash codes. A collision can
+ * spare an orphan but never deletes a live file. Files younger than the grace
+ * period are skipped, which leaves in-flight uploads alone. Before each batch
+ * is deleted, the sweeper checks again for a student that took the file or a
+ * reference count that changed since the scan, and the blob deletes run under
+ * the stored_objects row locks (see ObjectReferenceCounter).
+ */
+@Slf4j
+@Component
+public class OrphanFileSweeper implements MeterBinder {
+
+  private static final String FOLDER = "students";
+  private static final int BATCH = 100;
+
+  private final StorageService storageService;
+  private final StudentRepository studentRepository;
+  private final StoredObjectRepository storedObjectRepository;
+  private final ObjectReferenceCounter referenceCounter;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate readOnly;
+  private final Duration gracePeriod;
+
+  private final AtomicLong filesDeleted = new AtomicLong();
+  private final AtomicLong bytesReclaimed = new AtomicLong();
+
+  public OrphanFileSweeper(StorageService storageService, StudentRepository studentRepository,
+      StoredObjectRepository storedObjectRepository, ObjectReferenceCounter referenceCounter,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.storage.sweep.grace-period:1h}") Duration gracePeriod) {
+    this.storageService = storageService;
+    this.studentRepository = studentRepository;
+    this.storedObjectRepository = storedObjectRepository;
+    this.referenceCounter = referenceCounter;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    this.gracePeriod = gracePeriod;
+  }
+
+  /** storage.cleanup.files and storage.cleanup.reclaimed (bytes) with source=sweeper. */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("storage.cleanup.files", filesDeleted, AtomicLong::get)
+        .description("Stored objects removed")
+        .tag("source", "sweeper")
+        .register(registry);
+    FunctionCounter.builder("storage.cleanup.reclaimed", bytesReclaimed, AtomicLong::get)
+        .description("Storage freed by removed objects and their thumbnails")
+        .baseUnit("bytes")
+        .tag("source", "sweeper")
+        .register(registry);
+  }
+
+  @Scheduled(cron = "${app.storage.sweep.cron:0 30 3 * * *}")
+  public void sweep() {
+    long start = System.nanoTime();
+    Instant cutoff = Instant.now().minus(gracePeriod);
+    List<String> candidates = storageService.listFiles(FOLDER).stream()
+        .filter(file -> file.lastModified().isBefore(cutoff))
+        .map(StoredFile::key)
+        .toList();
+    if (candidates.isEmpty()) {
+      return;
+    }
+
+    // Counts are taken before the scan so a re-upload during the sweep shows up as a change
+    Map<String, Long> counts = refCounts(candidates);
+    int[] referenced = readOnly.execute(status -> referencedNames());
+    List<String> orphans = candidates.stream()
+        .filter(key -> Arrays.binarySearch(referenced, fileName(key).hashCode()) < 0)
+        .toList();
+
+    long files = 0;
+    long freed = 0;
+    for (int from = 0; from < orphans.size(); from += BATCH) {
+      List<String> batch = orphans.subList(from, Math.min(from + BATCH, orphans.size()));
+      List<String> confirmed = transactionTemplate.execute(status -> confirm(batch, counts));
+      if (!confirmed.isEmpty()) {
+        ObjectReferenceCounter.Purged purged =
+            referenceCounter.purgeUnreferenced(confirmed, storageService::purgeFiles);
+        freed += purged.bytes();
+        files += purged.objects();
+        if (!purged.failed().isEmpty()) {
+          // Still unreferenced, so the next sweep finds them again
+          log.warn("Storage did not delete {} orphaned files", purged.failed().size());
+        }
+      }
+    }
+    filesDeleted.addAndGet(files);
+    bytesReclaimed.addAndGet(freed);
+    log.info("Orphan sweep removed {} of {} files ({} bytes) in {} ms", files, candidates.size(), freed,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Keeps the keys that are still unused and whose reference count has not
+   * moved, and sets their counts to zero (dropping references leaked by a
+   * crash). The rows themselves go with the blobs in purgeUnreferenced,
+   * which skips any key an upload acquires in the meantime.
+   */
+  private List<String> confirm(List<String> keys, Map<String, Long> before) {
+    Set<String> used = new HashSet<>(studentRepository.findReferencedPictures(keys));
+    Map<String, Long> now = refCounts(keys);
+    List<String> confirmed = keys.stream()
+        .filter(key -> !used.contains(key))
+        .filter(key -> Objects.equals(before.get(key), now.get(key)))
+        .toList();
+    List<String> registered = confirmed.stream().filter(now::containsKey).toList();
+    if (!registered.isEmpty()) {
+      storedObjectRepository.resetAll(registered);
+    }
+    return confirmed;
+  }
+
+  private Map<String, Long> refCounts(List<String> keys) {
+    Map<String, Long> counts = new HashMap<>();
+    for (int from = 0; from < keys.size(); from += BATCH) {
+      for (StoredObject object : storedObjectRepository.findAllById(
+          keys.subList(from, Math.min(from + BATCH, keys.size())))) {
+        counts.put(object.getKey(), object.getRefCount());
+      }
+    }
+    return counts;
+  }
+
+  /** Sorted hash codes of the file names of every picture in use. */
+  private int[] referencedNames() {
+    try (Stream<String> pictures = studentRepository.streamPictures()) {
+      return pictures.mapToInt(picture -> fileName(picture).hashCode()).sorted().distinct().toArray();
+    }
+  }
+
+  /** "students/a.jpg", "/uploads/students/a.jpg" and ".../students/a.jpg?X-Goog-..." all give "a.jpg". */
+  private static String fileName(String value) {
+    int query = value.indexOf('?');
+    String path = query >= 0 ? value.substring(0, query) : value;
+    return path.substring(path.lastIndexOf('/') + 1);
+  }
+}
@@ -0,0 +1,57 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Points a student at a picture that was stored after the row was written
+ * (background and resumable uploads). The row is locked while the old
+ * picture is read and replaced, so two uploads finishing together each
+ * queue the picture they actually replaced. The change feed hears about
+ * the new picture once it commits; a student deleted meanwhile gets no event.
+ */
+@Component
+@RequiredArgsConstructor
+public class PictureAttacher {
+
+  private final StudentRepository studentRepository;
+  private final StudentReadCache studentReadCache;
+  private final StudentMapper studentMapper;
+  private final FileCleanupQueue fileCleanupQueue;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * @param picture object key just returned by the storage service, whose
+   *                reference the student row claims
+   * @return false if the student was deleted meanwhile; the picture is then released
+   */
+  public boolean attach(Long studentId, String picture) {
+    boolean updated = transactionTemplate.execute(status -> {
+      Student student = studentRepository.findByIdForUpdate(studentId).orElse(null);
+      if (student == null) {
+        return false;
+      }
+      String previous = student.getPicture();
+      student.setPicture(picture);
+      Student row = studentRepository.saveAndFlush(student);
+      fileCleanupQueue.claimUpload(picture);
+      // Releases the old reference; a re-upload of the same picture keeps its blob
+      fileCleanupQueue.enqueue(previous);
+      eventPublisher.publishEvent(StudentChangeEvent.saved(false, studentMapper.toStoredDTO(row)));
+      return true;
+    });
+    if (!updated) {
+      fileCleanupQueue.dropUpload(picture);
+      return false;
+    }
+    studentReadCache.evict(studentId);
+    return true;
+  }
+}
@@ -0,0 +1,190 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.studentmanagementapp.studentmanagementapp.config.ReadRouting;
+import com.studentmanagementapp.studentmanagementapp.dto.PictureUploadDTO;
+import com.studentmanagementapp.studentmanagementapp.entity.PictureUpload;
+import com.studentmanagementapp.studentmanagementapp.exception.ResourceNotFoundException;
+import com.studentmanagementapp.studentmanagementapp.exception.UploadConflictException;
+import com.studentmanagementapp.studentmanagementapp.repository.PictureUploadRepository;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.PictureUploadService;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService.UploadProgress;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps resumable upload state in picture_uploads and streams each chunk
+ * from the request straight into StorageService, so no transaction or
+ * connection is held while bytes arrive. Whoever writes to the storage
+ * session first takes the row's lease with a conditional UPDATE, so a second
+ * chunk sent to any instance is refused before it touches the session. A
+ * chunk that outlasts its lease cannot save its offset: the lease bumps the
+ * row's version.
+ *
+ * The completed object key is saved on the row before the picture is
+ * attached, so a retry after a failed attach attaches the same object
+ * instead of completing the session again.
+ */
+@Slf4j
+@Service
+public class PictureUploadServiceImpl implements PictureUploadService {
+
+  private static final String FOLDER = "students";
+
+  private final PictureUploadRepository pictureUploadRepository;
+  private final StudentRepository studentRepository;
+  private final StorageService storageService;
+  private final PictureAttacher pictureAttacher;
+  private final long maxLength;
+  private final Duration expiry;
+  private final Duration lease;
+
+  public PictureUploadServiceImpl(PictureUploadRepository pictureUploadRepository,
+      StudentRepository studentRepository, StorageService storageService, PictureAttacher pictureAttacher,
+      @Value("${app.storage.resumable.max-length:10MB}") DataSize maxLength,
+      @Value("${app.storage.resumable.expiry:24h}") Duration expiry,
+      @Value("${app.storage.resumable.lease:5m}") Duration lease) {
+    this.pictureUploadRepository = pictureUploadRepository;
+    this.studentRepository = studentRepository;
+    this.storageService = storageService;
+    this.pictureAttacher = pictureAttacher;
+    this.maxLength = maxLength.toBytes();
+    this.expiry = expiry;
+    this.lease = lease;
+  }
+
+  @Override
+  public PictureUploadDTO startUpload(Long studentId, long length, String fileName, String contentType) {
+    if (length < 1 || length > maxLength) {
+      throw new IllegalArgumentException("Upload-Length must be between 1 and " + maxLength + " bytes.");
+    }
+    if (!studentRepository.existsById(studentId)) {
+      throw new ResourceNotFoundException("Student not found with id: " + studentId);
+    }
+    String extension = ContentAddress.extension(fileName);
+    if (extension.length() > 16) {
+      extension = "";
+    }
+
+    String id = UUID.randomUUID().toString();
+    byte[] state = storageService.startUpload(FOLDER, id, contentType);
+    Instant now = Instant.now();
+    PictureUpload upload = pictureUploadRepository.save(
+        new PictureUpload(id, studentId, length, 0, extension, contentType, state, now, now, null, null, null));
+    return toDTO(upload);
+  }
+
+  @Override
+  public PictureUploadDTO getUpload(Long studentId, String uploadId) {
+    return toDTO(findOrThrow(studentId, uploadId));
+  }
+
+  @Override
+  public PictureUploadDTO appendChunk(Long studentId, String uploadId, long offset, InputStream body) {
+    PictureUpload upload = lease(studentId, uploadId);
+    try {
+      if (offset != upload.getOffset()) {
+        throw new UploadConflictException("Upload-Offset " + offset + " does not match the current offset "
+            + upload.getOffset() + ".");
+      }
+
+      if (offset < upload.getLength()) {
+        UploadProgress progress = storageService.appendUpload(upload.getState(), offset, body,
+            upload.getLength() - offset);
+        upload.setState(progress.state());
+        upload.setOffset(offset + progress.written());
+        upload.setUpdatedAt(Instant.now());
+        upload = pictureUploadRepository.save(upload);
+      }
+      PictureUploadDTO result = toDTO(upload);
+      // A repeated empty chunk at the full length retries a failed completion
+      if (upload.getOffset() == upload.getLength()) {
+        if (upload.getPicture() == null) {
+          upload.setPicture(storageService.completeUpload(upload.getState(), FOLDER, upload.getExtension()));
+          upload = pictureUploadRepository.save(upload);
+        }
+        String picture = upload.getPicture();
+        // A retry after the attach worked but the row survived only needs the row gone
+        if (!picture.equals(ReadRouting.onPrimary(() -> studentRepository.findPictureById(studentId)).orElse(null))) {
+          pictureAttacher.attach(studentId, picture);
+        }
+        pictureUploadRepository.delete(upload);
+      }
+      return result;
+    } finally {
+      pictureUploadRepository.releaseLease(uploadId, upload.getVersion());
+    }
+  }
+
+  @Override
+  public void cancelUpload(Long studentId, String uploadId) {
+    discard(lease(studentId, uploadId));
+  }
+
+  /** Discards uploads that have not received a chunk within app.storage.resumable.expiry. */
+  @Scheduled(fixedDelayString = "${app.storage.resumable.expiry-check:1h}")
+  public void expireUploads() {
+    Instant cutoff = Instant.now().minus(expiry);
+    for (PictureUpload stale : pictureUploadRepository.findByUpdatedAtBefore(cutoff)) {
+      try {
+        Instant now = Instant.now();
+        // Skip uploads that are receiving a chunk right now
+        if (pictureUploadRepository.lease(stale.getId(), stale.getStudentId(), now, now.plus(lease)) == 0) {
+          continue;
+        }
+        PictureUpload upload = findOrThrow(stale.getStudentId(), stale.getId());
+        if (upload.getUpdatedAt().isBefore(cutoff)) {
+          discard(upload);
+        } else {
+          pictureUploadRepository.releaseLease(upload.getId(), upload.getVersion());
+        }
+      } catch (RuntimeException e) {
+        log.warn("Could not discard expired upload {}", stale.getId(), e);
+      }
+    }
+  }
+
+  /**
+   * Takes the upload's lease and returns the row as it stands.
+   *
+   * @throws UploadConflictException if another request holds the lease
+   */
+  private PictureUpload lease(Long studentId, String uploadId) {
+    Instant now = Instant.now();
+    if (pictureUploadRepository.lease(uploadId, studentId, now, now.plus(lease)) == 0) {
+      findOrThrow(studentId, uploadId);
+      throw new UploadConflictException("Another chunk of this upload is still being received.");
+    }
+    return findOrThrow(studentId, uploadId);
+  }
+
+  /** Call with the lease held. A completed upload's object is left to its pending release. */
+  private void discard(PictureUpload upload) {
+    if (upload.getPicture() == null) {
+      storageService.abortUpload(upload.getState());
+    }
+    pictureUploadRepository.deleteById(upload.getId());
+  }
+
+  /** Reads the primary: offsets of a replica can lag behind the chunk just acknowledged. */
+  private PictureUpload findOrThrow(Long studentId, String uploadId) {
+    return ReadRouting.onPrimary(() -> pictureUploadRepository.findById(uploadId))
+        .filter(upload -> upload.getStudentId().equals(studentId))
+        .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + uploadId));
+  }
+
+  private static PictureUploadDTO toDTO(PictureUpload upload) {
+    return new PictureUploadDTO(upload.getId(), upload.getStudentId(), upload.getLength(), upload.getOffset());
+  }
+}
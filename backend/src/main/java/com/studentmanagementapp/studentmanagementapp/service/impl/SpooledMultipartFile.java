@@ -0,0 +1,99 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * A MultipartFile copied to a temp file of its own.
+ * Used to hand an upload to a background thread: the container deletes the
+ * original request's temp file as soon as the response is sent. Queued
+ * uploads wait on disk, not on the heap; call delete once done.
+ */
+public class SpooledMultipartFile implements MultipartFile {
+
+  private final String name;
+  private final String originalFilename;
+  private final String contentType;
+  private final Path content;
+
+  private SpooledMultipartFile(String name, String originalFilename, String contentType, Path content) {
+    this.name = name;
+    this.originalFilename = originalFilename;
+    this.contentType = contentType;
+    this.content = content;
+  }
+
+  public static SpooledMultipartFile copyOf(MultipartFile file) {
+    try {
+      Path content = Files.createTempFile("picture-upload-", ".part");
+      try (InputStream in = file.getInputStream()) {
+        Files.copy(in, content, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+        Files.deleteIfExists(content);
+        throw e;
+      }
+      return new SpooledMultipartFile(file.getName(), file.getOriginalFilename(), file.getContentType(), content);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read uploaded file: " + e.getMessage(), e);
+    }
+  }
+
+  /** Remove the temp file; the object is unusable afterwards. */
+  public void delete() {
+    try {
+      Files.deleteIfExists(content);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to delete spooled upload: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getOriginalFilename() {
+    return originalFilename;
+  }
+
+  @Override
+  public String getContentType() {
+    return contentType;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return getSize() == 0;
+  }
+
+  @Override
+  public long getSize() {
+    try {
+      return Files.size(content);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read spooled upload: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public byte[] getBytes() throws IOException {
+    return Files.readAllBytes(content);
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return Files.newInputStream(content);
+  }
+
+  @Override
+  public void transferTo(File dest) throws IOException {
+    Files.copy(content, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+}
@@ -0,0 +1,27 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.util.List;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentChangeDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+
+/**
+ * Application event for a change to the students table. Published inside the
+ * writing transaction; StudentChangeFeedImpl receives it only after commit.
+ * {@code student} is the stored form (see StudentMapper.toStoredDTO).
+ */
+public record StudentChangeEvent(String type, List<Long> ids, StudentDTO student) {
+
+  static StudentChangeEvent saved(boolean created, StudentDTO student) {
+    return new StudentChangeEvent(created ? StudentChangeDTO.CREATED : StudentChangeDTO.UPDATED,
+        null, student);
+  }
+
+  static StudentChangeEvent deleted(List<Long> ids) {
+    return new StudentChangeEvent(StudentChangeDTO.DELETED, List.copyOf(ids), null);
+  }
+
+  static StudentChangeEvent reset() {
+    return new StudentChangeEvent(StudentChangeDTO.RESET, null, null);
+  }
+}
@@ -0,0 +1,190 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentChangeDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.service.StudentChangeFeed;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Fans committed student changes out to server-sent event clients.
+ *
+ * Each change is serialized once and kept in a ring of the last
+ * app.students.changes.history events, so a client that reconnects with
+ * Last-Event-ID gets what it missed. A client that is too far behind gets a
+ * "reset" event and reloads. Every client has a bounded queue drained by its
+ * own virtual thread. A client whose queue fills up is disconnected rather
+ * than slowing the writers down; it reconnects and catches up from the ring.
+ *
+ * Event ids start at the boot time in milliseconds, so an id from before a
+ * restart is recognised as unknown. The feed is per instance.
+ */
+@Slf4j
+@Service
+public class StudentChangeFeedImpl implements StudentChangeFeed, MeterBinder {
+
+  private static final String RESET_DATA = "{\"type\":\"" + StudentChangeDTO.RESET + "\"}";
+
+  private final StudentMapper studentMapper;
+  private final ObjectMapper objectMapper;
+  private final int clientBuffer;
+  private final long timeoutMillis;
+  private final Duration heartbeat;
+
+  private final Object lock = new Object();
+  private final Change[] history;
+  private long nextId = System.currentTimeMillis();
+  private int size;
+
+  private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+  private final AtomicLong dropped = new AtomicLong();
+
+  public StudentChangeFeedImpl(StudentMapper studentMapper, ObjectMapper objectMapper,
+      @Value("${app.students.changes.history:1000}") int history,
+      @Value("${app.students.changes.client-buffer:256}") int clientBuffer,
+      @Value("${app.students.changes.timeout:30m}") Duration timeout,
+      @Value("${app.students.changes.heartbeat:15s}") Duration heartbeat) {
+    this.studentMapper = studentMapper;
+    this.objectMapper = objectMapper;
+    this.history = new Change[history];
+    this.clientBuffer = clientBuffer;
+    this.timeoutMillis = timeout.toMillis();
+    this.heartbeat = heartbeat;
+  }
+
+  /** students.changes.clients and students.changes.dropped (clients cut off for falling behind). */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("students.changes.clients", clients, Set::size)
+        .description("Open change feed connections")
+        .register(registry);
+    FunctionCounter.builder("students.changes.dropped", dropped, AtomicLong::get)
+        .description("Change feed clients disconnected because their buffer was full")
+        .register(registry);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onChange(StudentChangeEvent event) {
+    // Resolved once here, not per client
+    StudentDTO student = event.student() == null ? null : studentMapper.resolve(event.student());
+    String data = objectMapper.writeValueAsString(new StudentChangeDTO(event.type(), event.ids(), student));
+    synchronized (lock) {
+      Change change = new Change(nextId++, event.type(), data);
+      history[(int) (change.id() % history.length)] = change;
+      size = Math.min(size + 1, history.length);
+      for (Client client : clients) {
+        if (!client.queue.offer(change)) {
+          dropped.incrementAndGet();
+          client.close();
+        }
+      }
+    }
+  }
+
+  @Override
+  public SseEmitter subscribe(Long lastEventId) {
+    Client client = new Client(newEmitter(timeoutMillis), new ArrayBlockingQueue<>(clientBuffer));
+    client.emitter.onCompletion(client::close);
+    client.emitter.onTimeout(client::close);
+    client.emitter.onError(e -> client.close());
+
+    synchronized (lock) {
+      long last = nextId - 1;
+      if (lastEventId == null || lastEventId == last) {
+        // Sends just the current id, so a reconnect resumes from here
+        client.queue.add(new Change(last, null, null));
+      } else if (lastEventId < nextId - size - 1 || lastEventId > last || last - lastEventId > clientBuffer) {
+        client.queue.add(new Change(last, StudentChangeDTO.RESET, RESET_DATA));
+      } else {
+        for (long id = lastEventId + 1; id <= last; id++) {
+          client.queue.add(history[(int) (id % history.length)]);
+        }
+      }
+      clients.add(client);
+    }
+    client.thread = Thread.ofVirtual().name("change-feed-", client.hashCode()).start(() -> send(client));
+    return client.emitter;
+  }
+
+  /** Overridden by tests to see what a client is sent. */
+  SseEmitter newEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    clients.forEach(Client::close);
+  }
+
+  /** Runs on the client's virtual thread until the client goes away. */
+  private void send(Client client) {
+    try {
+      while (!client.closed) {
+        Change change = client.queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        if (change == null) {
+          client.emitter.send(SseEmitter.event().comment("ping"));
+        } else if (change.type() == null) {
+          client.emitter.send(SseEmitter.event().id(Long.toString(change.id())).comment("ready"));
+        } else {
+          client.emitter.send(SseEmitter.event()
+              .id(Long.toString(change.id()))
+              .name(change.type())
+              .data(change.data(), MediaType.APPLICATION_JSON));
+        }
+      }
+      client.emitter.complete();
+    } catch (InterruptedException e) {
+      client.emitter.complete();
+    } catch (IOException | IllegalStateException e) {
+      // The client disconnected
+      log.debug("Change feed client gone: {}", e.toString());
+      client.close();
+    }
+  }
+
+  private record Change(long id, String type, String data) {
+  }
+
+  private final class Client {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Change> queue;
+    private volatile Thread thread;
+    private volatile boolean closed;
+
+    private Client(SseEmitter emitter, BlockingQueue<Change> queue) {
+      this.emitter = emitter;
+      this.queue = queue;
+    }
+
+    private void close() {
+      closed = true;
+      clients.remove(this);
+      Thread sender = thread;
+      if (sender != null) {
+        sender.interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentFileFormat;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StudentExportService;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams the students table straight to the response.
+ * Rows come from a server-side cursor, are detached as soon as they are written
+ * and the output is flushed every {@code flush-every} rows, so heap use stays
+ * flat however large the table is.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentExportServiceImpl implements StudentExportService {
+
+  private static final byte[] CSV_HEADER =
+      "id,fName,lName,contact,address,picture\n".getBytes(StandardCharsets.UTF_8);
+
+  private final StudentRepository studentRepository;
+  private final StudentMapper studentMapper;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+
+  @Value("${app.students.export.flush-every:1000}")
+  private int flushEvery;
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportStudents(StudentFileFormat format, OutputStream out) throws IOException {
+    OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+    if (format == StudentFileFormat.CSV) {
+      buffered.write(CSV_HEADER);
+    }
+    // Send the header (or nothing) immediately so the first byte is not held
+    // back until the database has produced the first fetch.
+    buffered.flush();
+
+    try (Stream<Student> students = studentRepository.streamAllByOrderByIdAsc()) {
+      Iterator<Student> it = students.iterator();
+      int written = 0;
+      while (it.hasNext()) {
+        Student student = it.next();
+        StudentDTO dto = studentMapper.toStoredDTO(student);
+        entityManager.detach(student);
+
+        if (format == StudentFileFormat.CSV) {
+          buffered.write(toCsvLine(dto).getBytes(StandardCharsets.UTF_8));
+        } else {
+          buffered.write(objectMapper.writeValueAsBytes(dto));
+          buffered.write('\n');
+        }
+
+        if (++written % flushEvery == 0) {
+          buffered.flush();
+        }
+      }
+    }
+    buffered.flush();
+  }
+
+  private String toCsvLine(StudentDTO dto) {
+    return dto.getId() + ","
+        + csv(dto.getFName()) + ","
+        + csv(dto.getLName()) + ","
+        + csv(dto.getContact()) + ","
+        + csv(dto.getAddress()) + ","
+        + csv(dto.getPicture()) + "\n";
+  }
+
+  /** Quotes a value per RFC 4180 when it contains a delimiter, quote or line break. */
+  private String csv(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+}
@@ -0,0 +1,245 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studentmanagementapp.studentmanagementapp.dto.ImportReportDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.ImportRowResultDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentFileFormat;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StudentImportService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Bulk import that works in chunks of {@code batch-size} rows.
+ * Each chunk costs at most one contact lookup query (none when ContactFilter
+ * rules out every contact) and one transaction whose inserts
+ * Hibernate sends as JDBC batches (ids come from the pooled students_seq, so no
+ * per-row round-trip is needed to learn the generated key).
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentImportServiceImpl implements StudentImportService {
+
+  private final StudentRepository studentRepository;
+  private final StudentMapper studentMapper;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+  private final StudentSearchIndex studentSearchIndex;
+  private final ContactFilter contactFilter;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${app.students.import.batch-size:500}")
+  private int batchSize;
+
+  @Override
+  public ImportReportDTO importStudents(StudentFileFormat format, InputStream in) throws IOException {
+    List<ImportRowResultDTO> results = new ArrayList<>();
+    Set<String> seenContacts = new HashSet<>();
+    List<PendingRow> chunk = new ArrayList<>(batchSize);
+
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    RowSource source = format == StudentFileFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+
+    int rowNumber = 0;
+    PendingRow row;
+    while ((row = source.next(++rowNumber)) != null) {
+      if (row.error != null) {
+        results.add(new ImportRowResultDTO(row.number, ImportRowResultDTO.INVALID, null, row.error));
+        continue;
+      }
+      String violation = validate(row.dto);
+      if (violation != null) {
+        results.add(new ImportRowResultDTO(row.number, ImportRowResultDTO.INVALID, null, violation));
+        continue;
+      }
+      if (!seenContacts.add(row.dto.getContact())) {
+        results.add(new ImportRowResultDTO(row.number, ImportRowResultDTO.DUPLICATE, null,
+            "Contact '" + row.dto.getContact() + "' appears more than once in the file."));
+        continue;
+      }
+      chunk.add(row);
+      if (chunk.size() == batchSize) {
+        flushChunk(chunk, results);
+      }
+    }
+    flushChunk(chunk, results);
+
+    results.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+    int created = (int) results.stream()
+        .filter(r -> ImportRowResultDTO.CREATED.equals(r.getStatus()))
+        .count();
+    if (created > 0) {
+      // Too many rows for per-row change events; feed clients reload instead
+      eventPublisher.publishEvent(StudentChangeEvent.reset());
+    }
+    return new ImportReportDTO(results.size(), created, results.size() - created, results);
+  }
+
+  private void flushChunk(List<PendingRow> chunk, List<ImportRowResultDTO> results) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+
+    // One round-trip for the whole chunk instead of existsByContact per row,
+    // and only for contacts the filter cannot rule out (often none)
+    List<String> candidates = chunk.stream()
+        .map(r -> r.dto.getContact())
+        .filter(contactFilter::mightContain)
+        .toList();
+    Set<String> existing = candidates.isEmpty()
+        ? Set.of()
+        : new HashSet<>(studentRepository.findExistingContacts(candidates));
+
+    List<PendingRow> toInsert = new ArrayList<>(chunk.size());
+    for (PendingRow row : chunk) {
+      if (existing.contains(row.dto.getContact())) {
+        results.add(new ImportRowResultDTO(row.number, ImportRowResultDTO.DUPLICATE, null,
+            "A student with contact '" + row.dto.getContact() + "' already exists."));
+      } else {
+        toInsert.add(row);
+      }
+    }
+
+    if (!toInsert.isEmpty()) {
+      try {
+        List<Student> inserted = transactionTemplate.execute(status -> insert(toInsert));
+        studentSearchIndex.putAll(inserted);
+        inserted.forEach(student -> contactFilter.add(student.getContact()));
+        for (int i = 0; i < toInsert.size(); i++) {
+          results.add(new ImportRowResultDTO(toInsert.get(i).number, ImportRowResultDTO.CREATED,
+              inserted.get(i).getId(), null));
+        }
+      } catch (DataIntegrityViolationException e) {
+        // A concurrent writer claimed one of the contacts after the lookup
+        for (PendingRow row : toInsert) {
+          results.add(new ImportRowResultDTO(row.number, ImportRowResultDTO.FAILED, null,
+              "Batch rejected by the database: a contact in this batch was created concurrently."));
+        }
+      }
+    }
+    chunk.clear();
+  }
+
+  private List<Student> insert(List<PendingRow> rows) {
+    List<Student> students = new ArrayList<>(rows.size());
+    for (PendingRow row : rows) {
+      Student student = studentMapper.toEntity(row.dto);
+      entityManager.persist(student);
+      students.add(student);
+    }
+    // Push the JDBC batches now and drop the entities so the persistence
+    // context does not grow with the file
+    entityManager.flush();
+    entityManager.clear();
+    return students;
+  }
+
+  private String validate(StudentDTO dto) {
+    Set<ConstraintViolation<StudentDTO>> violations = validator.validate(dto);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .reduce((a, b) -> a + "; " + b)
+        .orElse(null);
+  }
+
+  // ── Row sources ──────────────────────────────────────────────────────────
+
+  private RowSource csvRows(BufferedReader reader) throws IOException {
+    CsvRecordReader csv = new CsvRecordReader(reader);
+    List<String> header = csv.next();
+    if (header == null) {
+      return number -> null;
+    }
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+    for (String required : List.of("fname", "lname", "contact", "address")) {
+      if (!columns.containsKey(required)) {
+        throw new IllegalArgumentException("CSV header must contain fName, lName, contact and address.");
+      }
+    }
+
+    return number -> {
+      List<String> record = csv.next();
+      while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+        record = csv.next();
+      }
+      if (record == null) {
+        return null;
+      }
+      StudentDTO dto = new StudentDTO(null,
+          column(record, columns.get("fname")),
+          column(record, columns.get("lname")),
+          column(record, columns.get("contact")),
+          column(record, columns.get("address")),
+          null, null, null);
+      return new PendingRow(number, dto, null);
+    };
+  }
+
+  private RowSource ndjsonRows(BufferedReader reader) {
+    return number -> {
+      String line = reader.readLine();
+      while (line != null && line.isBlank()) {
+        line = reader.readLine();
+      }
+      if (line == null) {
+        return null;
+      }
+      try {
+        StudentDTO dto = objectMapper.readValue(line, StudentDTO.class);
+        dto.setId(null);
+        dto.setPicture(null);
+        dto.setThumbnails(null);
+        dto.setVersion(null);
+        return new PendingRow(number, dto, null);
+      } catch (JacksonException e) {
+        return new PendingRow(number, null, "Malformed JSON: " + e.getOriginalMessage());
+      }
+    };
+  }
+
+  private static String column(List<String> record, int index) {
+    return index < record.size() ? record.get(index).trim() : null;
+  }
+
+  @FunctionalInterface
+  private interface RowSource {
+    PendingRow next(int number) throws IOException;
+  }
+
+  private record PendingRow(int number, StudentDTO dto, String error) {
+  }
+}
@@ -0,0 +1,157 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentField;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps between the Student entity and its API representation.
+ * The entity stores a storage key; the DTO carries loadable URLs for the
+ * picture and its thumbnails. Thumbnails are listed only once ThumbnailIndex
+ * knows they were all stored.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentMapper {
+
+  private final StorageService storageService;
+  private final ThumbnailGenerator thumbnailGenerator;
+  private final ThumbnailIndex thumbnailIndex;
+
+  public StudentDTO toDTO(Student s) {
+    return toDTOs(List.of(s)).get(0);
+  }
+
+  /**
+   * Map a page of students, resolving all picture and thumbnail URLs in one call.
+   */
+  public List<StudentDTO> toDTOs(List<Student> students) {
+    List<String> pictures = students.stream().map(Student::getPicture).filter(Objects::nonNull).toList();
+    Set<String> withThumbnails = withThumbnails(pictures);
+    List<String> keys = new ArrayList<>(pictures);
+    for (String picture : withThumbnails) {
+      keys.addAll(thumbnailGenerator.thumbnailKeys(picture).values());
+    }
+    Map<String, String> urls = storageService.resolveUrls(keys);
+
+    List<StudentDTO> dtos = new ArrayList<>(students.size());
+    for (Student s : students) {
+      StudentDTO dto = toDTO(s, urls.get(s.getPicture()));
+      if (s.getPicture() != null && withThumbnails.contains(s.getPicture())) {
+        Map<Integer, String> thumbnails = new LinkedHashMap<>();
+        thumbnailGenerator.thumbnailKeys(s.getPicture())
+            .forEach((size, key) -> thumbnails.put(size, urls.get(key)));
+        dto.setThumbnails(thumbnails.isEmpty() ? null : thumbnails);
+      }
+      dtos.add(dto);
+    }
+    return dtos;
+  }
+
+  /**
+   * Map rows selected by StudentKeysetRepository.findPageFields to JSON objects
+   * holding only the requested fields, in StudentField order. "picture" is
+   * resolved to a URL and brings "thumbnails" with it, as in toDTOs.
+   */
+  public List<Map<String, Object>> toFieldMaps(List<Tuple> rows, Set<StudentField> fields) {
+    boolean withPicture = fields.contains(StudentField.PICTURE);
+    Map<String, String> urls = Map.of();
+    Set<String> withThumbnails = Set.of();
+    if (withPicture) {
+      List<String> pictures = rows.stream()
+          .map(row -> row.get(StudentField.PICTURE.getParam(), String.class))
+          .filter(Objects::nonNull)
+          .toList();
+      withThumbnails = withThumbnails(pictures);
+      List<String> keys = new ArrayList<>(pictures);
+      for (String picture : withThumbnails) {
+        keys.addAll(thumbnailGenerator.thumbnailKeys(picture).values());
+      }
+      urls = storageService.resolveUrls(keys);
+    }
+
+    List<Map<String, Object>> items = new ArrayList<>(rows.size());
+    for (Tuple row : rows) {
+      Map<String, Object> item = new LinkedHashMap<>();
+      for (StudentField field : fields) {
+        if (field != StudentField.PICTURE) {
+          item.put(field.getParam(), row.get(field.getParam()));
+          continue;
+        }
+        String picture = row.get(field.getParam(), String.class);
+        item.put(field.getParam(), picture == null ? null : urls.get(picture));
+        if (picture != null && withThumbnails.contains(picture)) {
+          Map<Integer, String> thumbnails = new LinkedHashMap<>();
+          for (Map.Entry<Integer, String> thumbnail : thumbnailGenerator.thumbnailKeys(picture).entrySet()) {
+            thumbnails.put(thumbnail.getKey(), urls.get(thumbnail.getValue()));
+          }
+          if (!thumbnails.isEmpty()) {
+            item.put("thumbnails", thumbnails);
+          }
+        }
+      }
+      items.add(item);
+    }
+    return items;
+  }
+
+  /**
+   * Resolve the picture of a DTO produced by {@link #toStoredDTO} into a new DTO
+   * with picture and thumbnail URLs. The input is left untouched, so it can be
+   * a shared cached instance.
+   */
+  public StudentDTO resolve(StudentDTO stored) {
+    Student s = new Student();
+    s.setId(stored.getId());
+    s.setFName(stored.getFName());
+    s.setLName(stored.getLName());
+    s.setContact(stored.getContact());
+    s.setAddress(stored.getAddress());
+    s.setPicture(stored.getPicture());
+    s.setVersion(stored.getVersion());
+    return toDTO(s);
+  }
+
+  /**
+   * Map without resolving the picture: {@code picture} holds the raw storage key.
+   * Used by the export, where minting a URL per row would dominate the cost.
+   */
+  public StudentDTO toStoredDTO(Student s) {
+    return toDTO(s, s.getPicture());
+  }
+
+  public Student toEntity(StudentDTO dto) {
+    Student s = new Student();
+    s.setFName(dto.getFName());
+    s.setLName(dto.getLName());
+    s.setContact(dto.getContact());
+    s.setAddress(dto.getAddress());
+    return s;
+  }
+
+  /** Pictures whose thumbnails all exist; legacy URLs never have any. */
+  private Set<String> withThumbnails(List<String> pictures) {
+    List<String> keys = pictures.stream()
+        .filter(picture -> !thumbnailGenerator.thumbnailKeys(picture).isEmpty())
+        .toList();
+    return keys.isEmpty() ? Set.of() : thumbnailIndex.withThumbnails(keys);
+  }
+
+  private StudentDTO toDTO(Student s, String pictureUrl) {
+    return new StudentDTO(s.getId(), s.getFName(), s.getLName(),
+        s.getContact(), s.getAddress(), pictureUrl, null, s.getVersion());
+  }
+}
@@ -0,0 +1,74 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studentmanagementapp.studentmanagementapp.config.CacheConfig;
+import com.studentmanagementapp.studentmanagementapp.config.ReadRouting;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.exception.ResourceNotFoundException;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+
+/**
+ * Read-through cache in front of StudentRepository for single-student reads.
+ *
+ * Entries hold the stored form (picture as a storage key, see
+ * StudentMapper.toStoredDTO) and are treated as immutable; URLs are resolved
+ * per response so a cached entry never carries an expired signed URL.
+ *
+ * A student evicted within the last replica max-lag is reloaded from the
+ * primary, so a lagging replica cannot put the old row back in the cache.
+ * A load that was already reading when a write committed is not cached
+ * either: every evict bumps a generation, and a load only stores its row if
+ * no evict happened since it started. The check and the store run under the
+ * entry's lock, as does the evict, so one cannot slip between the other.
+ */
+@Component
+public class StudentReadCache {
+
+  private final StudentRepository studentRepository;
+  private final StudentMapper studentMapper;
+  private final Cache<Long, Boolean> recentlyWritten;
+  private final Cache<Object, Object> students;
+  private final AtomicLong generation = new AtomicLong();
+
+  @SuppressWarnings("unchecked")
+  public StudentReadCache(StudentRepository studentRepository, StudentMapper studentMapper,
+      @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag, CacheManager cacheManager) {
+    this.studentRepository = studentRepository;
+    this.studentMapper = studentMapper;
+    this.recentlyWritten = Caffeine.newBuilder().expireAfterWrite(maxLag).build();
+    this.students = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.STUDENTS).getNativeCache();
+  }
+
+  public StudentDTO find(Long id) {
+    if (students.getIfPresent(id) instanceof StudentDTO cached) {
+      return cached;
+    }
+    long started = generation.get();
+    StudentDTO loaded = recentlyWritten.getIfPresent(id) != null ? ReadRouting.onPrimary(() -> load(id)) : load(id);
+    students.asMap().compute(id, (key, current) -> generation.get() == started ? loaded : current);
+    return loaded;
+  }
+
+  /** Call after the row has changed or been deleted, once the change has committed. */
+  public void evict(Long id) {
+    recentlyWritten.put(id, Boolean.TRUE);
+    students.asMap().compute(id, (key, current) -> {
+      generation.incrementAndGet();
+      return null;
+    });
+  }
+
+  private StudentDTO load(Long id) {
+    return studentRepository.findById(id)
+        .map(studentMapper::toStoredDTO)
+        .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+  }
+}
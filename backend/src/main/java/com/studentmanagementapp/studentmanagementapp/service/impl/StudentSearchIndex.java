@@ -0,0 +1,389 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+
+/**
+ * In-memory n-gram index over fName, lName, contact and address that backs
+ * GET /api/v1/students/search.
+ *
+ * Every field value is lower-cased and indexed by its character trigrams
+ * (substring matching for terms of three or more characters) and by the one-
+ * and two-character prefixes of each word (prefix matching for shorter terms).
+ * A query term is looked up through its rarest key, the candidates are
+ * verified against the stored text and the best {@code limit} are kept in a
+ * bounded heap, so a query touches only the postings of one key rather than
+ * every row.
+ *
+ * Rows are added once at startup (see StudentSearchIndexLoader) and kept up to
+ * date by the write paths. A changed or deleted row leaves a dead slot behind;
+ * the postings are rebuilt in memory once dead slots outnumber live ones.
+ */
+@Component
+public class StudentSearchIndex {
+
+  /** Field order of {@link Entry#fields()}. */
+  private static final int F_NAME = 0;
+  private static final int L_NAME = 1;
+  private static final int CONTACT = 2;
+  private static final int ADDRESS = 3;
+  private static final int[] FIELD_WEIGHTS = {3, 3, 2, 1};
+
+  // Match kinds, best first; the score of a term is kind * field weight
+  private static final int EXACT = 4;
+  private static final int FIELD_PREFIX = 3;
+  private static final int WORD_PREFIX = 2;
+  private static final int SUBSTRING = 1;
+  private static final int NONE = 0;
+
+  private static final int MIN_SUBSTRING_LENGTH = 3;
+  private static final long ONE_CHAR_PREFIX = 1L << 48;
+  private static final long TWO_CHAR_PREFIX = 2L << 48;
+  private static final int COMPACT_MIN_DEAD = 1024;
+
+  /** Higher score first, then lower id. */
+  private static final Comparator<Hit> RANKING =
+      Comparator.comparingInt(Hit::score).reversed().thenComparingLong(Hit::id);
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Map<Long, Postings> postings = new HashMap<>();
+  private List<Entry> entries = new ArrayList<>();
+  private Map<Long, Integer> slotsById = new HashMap<>();
+  private BitSet dead = new BitSet();
+  private int deadCount;
+
+  /** Ids deleted while the startup load is running, so a late read cannot bring them back. */
+  private Set<Long> removedDuringLoad;
+
+  /** A ranked search result. */
+  public record Hit(long id, int score) {
+  }
+
+  /**
+   * Adds or replaces a student. A row older than the indexed one (lower
+   * version) is ignored, so the startup load and concurrent writes can
+   * arrive in any order.
+   */
+  public void put(Student student) {
+    lock.writeLock().lock();
+    try {
+      upsert(student);
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Adds or replaces several students under one lock acquisition. */
+  public void putAll(Collection<Student> students) {
+    lock.writeLock().lock();
+    try {
+      for (Student student : students) {
+        upsert(student);
+      }
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long id) {
+    lock.writeLock().lock();
+    try {
+      if (removedDuringLoad != null) {
+        removedDuringLoad.add(id);
+      }
+      Integer slot = slotsById.remove(id);
+      if (slot != null) {
+        kill(slot);
+        compactIfNeeded();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Marks the start of the bulk load; deletes seen from now on are remembered until {@link #endLoad()}. */
+  public void beginLoad() {
+    lock.writeLock().lock();
+    try {
+      removedDuringLoad = new HashSet<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void endLoad() {
+    lock.writeLock().lock();
+    try {
+      removedDuringLoad = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return slotsById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns up to {@code limit} students matching every whitespace-separated
+   * term of the query, best first. Terms of three or more characters match
+   * anywhere in a field; shorter terms match the start of a word.
+   */
+  public List<Hit> search(String query, int limit) {
+    String[] terms = terms(query);
+    if (terms.length == 0 || limit < 1) {
+      return List.of();
+    }
+
+    lock.readLock().lock();
+    try {
+      Postings candidates = null;
+      for (String term : terms) {
+        Postings rarest = rarestPostings(term);
+        if (rarest == null) {
+          return List.of();
+        }
+        if (candidates == null || rarest.size < candidates.size) {
+          candidates = rarest;
+        }
+      }
+
+      // Min-heap holding the current top hits, worst on top
+      PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+      for (int i = 0; i < candidates.size; i++) {
+        int slot = candidates.slots[i];
+        if (dead.get(slot)) {
+          continue;
+        }
+        Entry entry = entries.get(slot);
+        int score = score(entry, terms);
+        if (score == 0) {
+          continue;
+        }
+        top.add(new Hit(entry.id(), score));
+        if (top.size() > limit) {
+          top.poll();
+        }
+      }
+
+      List<Hit> hits = new ArrayList<>(top);
+      hits.sort(RANKING);
+      return hits;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // ── Indexing ─────────────────────────────────────────────────────────────
+
+  private void upsert(Student student) {
+    Long id = student.getId();
+    if (removedDuringLoad != null && removedDuringLoad.contains(id)) {
+      return;
+    }
+    String[] fields = {
+        normalize(student.getFName()),
+        normalize(student.getLName()),
+        normalize(student.getContact()),
+        normalize(student.getAddress())
+    };
+
+    Integer existing = slotsById.get(id);
+    if (existing != null) {
+      Entry old = entries.get(existing);
+      if (old.version() > student.getVersion()) {
+        return;
+      }
+      if (Arrays.equals(old.fields(), fields)) {
+        // e.g. only the picture changed: nothing to re-index
+        entries.set(existing, new Entry(id, student.getVersion(), fields));
+        return;
+      }
+      kill(existing);
+    }
+
+    int slot = entries.size();
+    entries.add(new Entry(id, student.getVersion(), fields));
+    slotsById.put(id, slot);
+    index(slot, fields);
+  }
+
+  private void index(int slot, String[] fields) {
+    for (String field : fields) {
+      for (int i = 0; i + MIN_SUBSTRING_LENGTH <= field.length(); i++) {
+        postingsFor(trigram(field, i)).add(slot);
+      }
+      for (int i = 0; i < field.length(); i++) {
+        if (isWordStart(field, i)) {
+          postingsFor(ONE_CHAR_PREFIX | field.charAt(i)).add(slot);
+          if (i + 1 < field.length()) {
+            postingsFor(twoCharPrefix(field, i)).add(slot);
+          }
+        }
+      }
+    }
+  }
+
+  private Postings postingsFor(long key) {
+    return postings.computeIfAbsent(key, k -> new Postings());
+  }
+
+  private void kill(int slot) {
+    dead.set(slot);
+    deadCount++;
+  }
+
+  /** Rebuilds the postings from the live entries once dead slots outnumber them. */
+  private void compactIfNeeded() {
+    if (deadCount < COMPACT_MIN_DEAD || deadCount < slotsById.size()) {
+      return;
+    }
+    List<Entry> live = new ArrayList<>(slotsById.size());
+    for (int slot = 0; slot < entries.size(); slot++) {
+      if (!dead.get(slot)) {
+        live.add(entries.get(slot));
+      }
+    }
+    postings = new HashMap<>();
+    entries = new ArrayList<>(live.size());
+    slotsById = new HashMap<>(live.size() * 2);
+    dead = new BitSet();
+    deadCount = 0;
+    for (Entry entry : live) {
+      int slot = entries.size();
+      entries.add(entry);
+      slotsById.put(entry.id(), slot);
+      index(slot, entry.fields());
+    }
+  }
+
+  // ── Querying ─────────────────────────────────────────────────────────────
+
+  /** The smallest postings list that every match of the term must appear in, or null if none can match. */
+  private Postings rarestPostings(String term) {
+    if (term.length() < MIN_SUBSTRING_LENGTH) {
+      long key = term.length() == 1 ? ONE_CHAR_PREFIX | term.charAt(0) : twoCharPrefix(term, 0);
+      return postings.get(key);
+    }
+    Postings rarest = null;
+    for (int i = 0; i + MIN_SUBSTRING_LENGTH <= term.length(); i++) {
+      Postings p = postings.get(trigram(term, i));
+      if (p == null) {
+        return null;
+      }
+      if (rarest == null || p.size < rarest.size) {
+        rarest = p;
+      }
+    }
+    return rarest;
+  }
+
+  /** Sum over terms of the best field match; 0 when any term does not match. */
+  private static int score(Entry entry, String[] terms) {
+    int total = 0;
+    for (String term : terms) {
+      int best = 0;
+      for (int f = F_NAME; f <= ADDRESS; f++) {
+        best = Math.max(best, matchKind(entry.fields()[f], term) * FIELD_WEIGHTS[f]);
+      }
+      if (best == 0) {
+        return 0;
+      }
+      total += best;
+    }
+    return total;
+  }
+
+  private static int matchKind(String field, String term) {
+    int at = field.indexOf(term);
+    if (at < 0) {
+      return NONE;
+    }
+    if (at == 0) {
+      return field.length() == term.length() ? EXACT : FIELD_PREFIX;
+    }
+    do {
+      if (isWordStart(field, at)) {
+        return WORD_PREFIX;
+      }
+      at = field.indexOf(term, at + 1);
+    } while (at > 0);
+    return term.length() >= MIN_SUBSTRING_LENGTH ? SUBSTRING : NONE;
+  }
+
+  // ── Text helpers ─────────────────────────────────────────────────────────
+
+  private static String[] terms(String query) {
+    if (query == null) {
+      return new String[0];
+    }
+    Set<String> terms = new LinkedHashSet<>();
+    for (String term : normalize(query).split("\\s+")) {
+      if (!term.isEmpty()) {
+        terms.add(term);
+      }
+    }
+    return terms.toArray(String[]::new);
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static boolean isWordStart(String s, int i) {
+    return Character.isLetterOrDigit(s.charAt(i))
+        && (i == 0 || !Character.isLetterOrDigit(s.charAt(i - 1)));
+  }
+
+  private static long trigram(String s, int i) {
+    return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+  }
+
+  private static long twoCharPrefix(String s, int i) {
+    return TWO_CHAR_PREFIX | ((long) s.charAt(i) << 16) | s.charAt(i + 1);
+  }
+
+  /** Lower-cased field values in F_NAME, L_NAME, CONTACT, ADDRESS order. */
+  private record Entry(long id, long version, String[] fields) {
+  }
+
+  /** Growable ascending list of slots; slots are appended in increasing order. */
+  private static final class Postings {
+    int[] slots = new int[4];
+    int size;
+
+    void add(int slot) {
+      if (size > 0 && slots[size - 1] == slot) {
+        return; // key occurs more than once in the same row
+      }
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      slots[size++] = slot;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills StudentSearchIndex and ContactFilter from the students table once the
+ * application is up, in a single pass. Rows are streamed through the same
+ * server-side cursor as the export and detached as they are indexed; writes
+ * that happen meanwhile go straight to both and, in the index, win over the
+ * older rows read here.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentSearchIndexLoader {
+
+  private static final int CHUNK = 1000;
+
+  private final StudentRepository studentRepository;
+  private final StudentSearchIndex studentSearchIndex;
+  private final ContactFilter contactFilter;
+  private final EntityManager entityManager;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void load() {
+    long start = System.nanoTime();
+    studentSearchIndex.beginLoad();
+    contactFilter.beginLoad(studentRepository.count());
+    try {
+      try (Stream<Student> students = studentRepository.streamAllByOrderByIdAsc()) {
+        Iterator<Student> it = students.iterator();
+        List<Student> chunk = new ArrayList<>(CHUNK);
+        while (it.hasNext()) {
+          Student student = it.next();
+          entityManager.detach(student);
+          contactFilter.add(student.getContact());
+          chunk.add(student);
+          if (chunk.size() == CHUNK) {
+            studentSearchIndex.putAll(chunk);
+            chunk.clear();
+          }
+        }
+        studentSearchIndex.putAll(chunk);
+      }
+      // Only a complete load may answer "definitely absent"
+      contactFilter.endLoad();
+    } finally {
+      studentSearchIndex.endLoad();
+    }
+    log.info("Search index built with {} students in {} ms",
+        studentSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+  }
+}
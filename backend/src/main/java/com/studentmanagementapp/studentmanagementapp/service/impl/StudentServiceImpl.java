@@ -1,108 +1,427 @@
 package com.studentmanagementapp.studentmanagementapp.service.impl;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.studentmanagementapp.studentmanagementapp.config.ReadRouting;
+import com.studentmanagementapp.studentmanagementapp.dto.BatchResultDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.PageDTO;
 import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
 import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.exception.DuplicateResourceException;
+import com.studentmanagementapp.studentmanagementapp.exception.IntegrityViolations;
+import com.studentmanagementapp.studentmanagementapp.exception.PreconditionFailedException;
 import com.studentmanagementapp.studentmanagementapp.exception.ResourceNotFoundException;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentCursor;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentField;
 import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentSort;
 import com.studentmanagementapp.studentmanagementapp.service.StorageService;
 import com.studentmanagementapp.studentmanagementapp.service.StudentService;
 
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
+  /** Fields a merge patch may set; the rest are derived or server-managed. */
+  private static final Set<StudentField> PATCHABLE = EnumSet.of(
+      StudentField.FIRST_NAME, StudentField.LAST_NAME, StudentField.CONTACT, StudentField.ADDRESS);
+
   private final StudentRepository studentRepository;
   private final StorageService storageService;
+  private final StudentMapper studentMapper;
+  private final AsyncPictureUploader asyncPictureUploader;
+  private final StudentReadCache studentReadCache;
+  private final StudentSearchIndex studentSearchIndex;
+  private final ContactFilter contactFilter;
+  private final FileCleanupQueue fileCleanupQueue;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${app.students.page.max-size:200}")
+  private int maxPageSize;
+
+  @Value("${app.students.search.max-results:50}")
+  private int maxSearchResults;
+
+  @Value("${app.students.batch.max-ids:5000}")
+  private int maxBatchSize;
+
+  /** When true, pictures are uploaded after the row is saved; see AsyncPictureUploader. */
+  @Value("${app.storage.async-upload:false}")
+  private boolean asyncUpload;
 
   @Override
-  public List<StudentDTO> getAllStudents() {
-    return studentRepository.findAll()
-        .stream()
-        .map(this::toDTO)
-        .collect(Collectors.toList());
+  public PageDTO<StudentDTO> getAllStudents(StudentSort sort, String cursor, int size) {
+    int limit = pageLimit(size);
+    StudentCursor after = (cursor == null || cursor.isBlank()) ? null : StudentCursor.decode(cursor, sort);
+
+    // Fetch one extra row to learn whether another page exists
+    List<Student> rows = studentRepository.findPage(sort, after, limit + 1);
+    boolean hasMore = rows.size() > limit;
+    List<Student> page = hasMore ? rows.subList(0, limit) : rows;
+
+    String next = hasMore ? StudentCursor.after(sort, page.get(limit - 1)).encode() : null;
+    return new PageDTO<>(studentMapper.toDTOs(page), next);
+  }
+
+  @Override
+  public PageDTO<Map<String, Object>> getStudentFields(StudentSort sort, String cursor, int size,
+      Set<StudentField> fields) {
+    int limit = pageLimit(size);
+    StudentCursor after = (cursor == null || cursor.isBlank()) ? null : StudentCursor.decode(cursor, sort);
+
+    List<Tuple> rows = studentRepository.findPageFields(sort, after, limit + 1, fields);
+    boolean hasMore = rows.size() > limit;
+    List<Tuple> page = hasMore ? rows.subList(0, limit) : rows;
+
+    String next = hasMore ? StudentCursor.after(sort, page.get(limit - 1)).encode() : null;
+    return new PageDTO<>(studentMapper.toFieldMaps(page, fields), next);
   }
 
   @Override
   public StudentDTO getStudentById(Long id) {
-    return toDTO(findOrThrow(id));
+    return studentMapper.resolve(studentReadCache.find(id));
   }
 
   @Override
-  public StudentDTO saveStudent(StudentDTO dto, MultipartFile profileImage) {
-    if (studentRepository.existsByContact(dto.getContact())) {
-      throw new IllegalArgumentException(
-          "A student with contact '" + dto.getContact() + "' already exists.");
+  public List<StudentDTO> searchStudents(String query, int limit) {
+    if (query == null || query.isBlank()) {
+      throw new IllegalArgumentException("Search query must not be empty.");
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("Search limit must be at least 1.");
+    }
+    List<Long> ids = studentSearchIndex.search(query, Math.min(limit, maxSearchResults)).stream()
+        .map(StudentSearchIndex.Hit::id)
+        .toList();
+    if (ids.isEmpty()) {
+      return List.of();
     }
 
-    Student student = toEntity(dto);
+    // One IN query for the hits, then back into rank order; a row deleted
+    // since the lookup is simply dropped
+    return studentMapper.toDTOs(findAllInOrder(ids));
+  }
+
+  @Override
+  public StudentDTO saveStudent(StudentDTO dto, MultipartFile profileImage) {
+    Student student = studentMapper.toEntity(dto);
+    boolean hasImage = profileImage != null && !profileImage.isEmpty();
 
-    if (profileImage != null && !profileImage.isEmpty()) {
-      student.setPicture(storageService.uploadFile(profileImage, "students"));
+    String uploaded = null;
+    if (hasImage && !asyncUpload) {
+      rejectKnownContact(dto.getContact());
+      uploaded = storageService.uploadFile(profileImage, "students");
+      student.setPicture(uploaded);
     }
 
-    return toDTO(studentRepository.save(student));
+    Student saved = write(student, uploaded, null);
+    if (hasImage && asyncUpload) {
+      asyncPictureUploader.submit(saved.getId(), profileImage);
+    }
+    return studentMapper.toDTO(saved);
   }
 
   @Override
   public StudentDTO updateStudent(Long id, StudentDTO dto, MultipartFile profileImage) {
     Student existing = findOrThrow(id);
-
-    if (!existing.getContact().equals(dto.getContact())
-        && studentRepository.existsByContact(dto.getContact())) {
-      throw new IllegalArgumentException(
-          "A student with contact '" + dto.getContact() + "' already exists.");
-    }
+    boolean contactChanged = !existing.getContact().equals(dto.getContact());
 
     existing.setFName(dto.getFName());
     existing.setLName(dto.getLName());
     existing.setContact(dto.getContact());
     existing.setAddress(dto.getAddress());
 
-    if (profileImage != null && !profileImage.isEmpty()) {
-      if (existing.getPicture() != null) {
-        storageService.deleteFile(existing.getPicture());
+    boolean hasImage = profileImage != null && !profileImage.isEmpty();
+    String previous = existing.getPicture();
+    String uploaded = null;
+    if (hasImage && !asyncUpload) {
+      if (contactChanged) {
+        rejectKnownContact(dto.getContact());
       }
-      existing.setPicture(storageService.uploadFile(profileImage, "students"));
+      // Upload before releasing the old picture so re-uploading the same
+      // image keeps the shared blob instead of deleting and rewriting it
+      uploaded = storageService.uploadFile(profileImage, "students");
+      existing.setPicture(uploaded);
     }
 
-    return toDTO(studentRepository.save(existing));
+    Student saved = write(existing, uploaded, uploaded != null ? previous : null);
+    studentReadCache.evict(id);
+    if (hasImage && asyncUpload) {
+      // The old picture is replaced (and deleted) once the new one is stored
+      asyncPictureUploader.submit(saved.getId(), profileImage);
+    }
+    return studentMapper.toDTO(saved);
+  }
+
+  @Override
+  public StudentDTO patchStudent(Long id, Map<String, Object> patch, Long expectedVersion) {
+    Map<StudentField, String> values = patchValues(patch);
+    if (values.isEmpty()) {
+      StudentDTO current = getStudentById(id);
+      if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+        throw staleVersion(expectedVersion);
+      }
+      return current;
+    }
+
+    // No picture is uploaded here, so there is nothing to protect with a
+    // contact lookup first; a taken contact fails on the unique index.
+    // The patch is applied to the cached row and the UPDATE is guarded by the
+    // version it was applied to, so a cache hit costs the UPDATE alone and the
+    // response needs no read back. A stale base is read again from the primary.
+    StudentDTO base = studentReadCache.find(id);
+    boolean fresh = false;
+    Student saved;
+    while (true) {
+      if (expectedVersion != null && !expectedVersion.equals(base.getVersion())) {
+        if (fresh) {
+          throw staleVersion(expectedVersion);
+        }
+        base = readPrimary(id);
+        fresh = true;
+        continue;
+      }
+      saved = tryPatch(base, values);
+      if (saved != null) {
+        break;
+      }
+      // Only a failed UPDATE asks whether the row still exists
+      if (expectedVersion != null) {
+        if (!studentRepository.existsById(id)) {
+          throw notFound(id);
+        }
+        throw staleVersion(expectedVersion);
+      }
+      base = readPrimary(id);
+      fresh = true;
+    }
+    studentReadCache.evict(id);
+    if (values.containsKey(StudentField.CONTACT)) {
+      contactFilter.add(saved.getContact());
+    }
+    studentSearchIndex.put(saved);
+    return studentMapper.toDTO(saved);
   }
 
   @Override
   public void deleteStudent(Long id) {
     Student student = findOrThrow(id);
-    if (student.getPicture() != null) {
-      storageService.deleteFile(student.getPicture());
+    transactionTemplate.executeWithoutResult(status -> {
+      studentRepository.delete(student);
+      fileCleanupQueue.enqueue(student.getPicture());
+      eventPublisher.publishEvent(StudentChangeEvent.deleted(List.of(id)));
+    });
+    studentReadCache.evict(id);
+    studentSearchIndex.remove(id);
+  }
+
+  @Override
+  public BatchResultDTO getStudents(List<Long> ids) {
+    List<Long> requested = checkBatch(ids);
+    List<Student> found = findAllInOrder(requested);
+    List<Long> foundIds = found.stream().map(Student::getId).toList();
+    return new BatchResultDTO(foundIds, missing(requested, foundIds), studentMapper.toDTOs(found));
+  }
+
+  @Override
+  public BatchResultDTO deleteStudents(List<Long> ids) {
+    List<Long> requested = checkBatch(ids);
+    List<Student> found = findAllInOrder(requested);
+    List<Long> foundIds = found.stream().map(Student::getId).toList();
+    List<String> pictures = found.stream()
+        .map(Student::getPicture)
+        .filter(Objects::nonNull)
+        .toList();
+    if (!foundIds.isEmpty()) {
+      // The pictures are released in batches by FileCleanupWorker
+      transactionTemplate.executeWithoutResult(status -> {
+        studentRepository.deleteAllByIdInBatch(foundIds);
+        fileCleanupQueue.enqueue(pictures);
+        eventPublisher.publishEvent(StudentChangeEvent.deleted(foundIds));
+      });
     }
-    studentRepository.delete(student);
+
+    for (Long id : foundIds) {
+      studentReadCache.evict(id);
+      studentSearchIndex.remove(id);
+    }
+    return new BatchResultDTO(foundIds, missing(requested, foundIds), null);
   }
 
   // ── Helpers ──────────────────────────────────────────────────────────────
 
-  private Student findOrThrow(Long id) {
-    return studentRepository.findById(id)
-        .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+  private int pageLimit(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1.");
+    }
+    return Math.min(size, maxPageSize);
+  }
+
+  /**
+   * Validates a merge patch. Every student field is required, so a null
+   * (which would remove the member) is rejected like a blank value.
+   */
+  private static Map<StudentField, String> patchValues(Map<String, Object> patch) {
+    if (patch == null) {
+      throw new IllegalArgumentException("The patch must be a JSON object.");
+    }
+    Map<StudentField, String> values = new EnumMap<>(StudentField.class);
+    patch.forEach((name, value) -> {
+      StudentField field = PATCHABLE.stream()
+          .filter(candidate -> candidate.getParam().equals(name))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Field '" + name
+              + "' cannot be patched. Use any of: fName, lName, contact, address."));
+      if (!(value instanceof String text) || text.isBlank()) {
+        throw new IllegalArgumentException("Field '" + name + "' must be a non-empty string.");
+      }
+      values.put(field, text);
+    });
+    return values;
+  }
+
+  /**
+   * Writes the patched fields if the row is still at the base's version.
+   *
+   * @return the row as written (the base with the patch applied, one version
+   *         up), or null if no row was updated
+   */
+  private Student tryPatch(StudentDTO base, Map<StudentField, String> values) {
+    Student row = new Student(base.getId(), base.getFName(), base.getLName(), base.getContact(),
+        base.getAddress(), base.getPicture(), base.getVersion() + 1);
+    values.forEach((field, value) -> {
+      switch (field) {
+        case FIRST_NAME -> row.setFName(value);
+        case LAST_NAME -> row.setLName(value);
+        case CONTACT -> row.setContact(value);
+        case ADDRESS -> row.setAddress(value);
+        default -> throw new IllegalArgumentException("Field '" + field.getParam() + "' cannot be patched.");
+      }
+    });
+    try {
+      return transactionTemplate.execute(status -> {
+        if (studentRepository.updateFields(base.getId(), base.getVersion(), values) == 0) {
+          return null;
+        }
+        eventPublisher.publishEvent(StudentChangeEvent.saved(false, studentMapper.toStoredDTO(row)));
+        return row;
+      });
+    } catch (DataIntegrityViolationException e) {
+      if (IntegrityViolations.isUniqueViolation(e)) {
+        throw duplicateContact(values.get(StudentField.CONTACT));
+      }
+      throw e;
+    }
+  }
+
+  /** The stored row as the primary has it; the cache and replicas may lag behind. */
+  private StudentDTO readPrimary(Long id) {
+    return ReadRouting.onPrimary(() -> studentMapper.toStoredDTO(findOrThrow(id)));
+  }
+
+  private static PreconditionFailedException staleVersion(Long expectedVersion) {
+    return new PreconditionFailedException("The student is no longer at version " + expectedVersion
+        + ". Reload and try again.");
   }
 
-  private StudentDTO toDTO(Student s) {
-    return new StudentDTO(s.getId(), s.getFName(), s.getLName(),
-        s.getContact(), s.getAddress(), s.getPicture());
+  /** Loads the rows with one IN query and returns them in the order of ids. */
+  private List<Student> findAllInOrder(List<Long> ids) {
+    Map<Long, Student> byId = studentRepository.findAllById(ids).stream()
+        .collect(Collectors.toMap(Student::getId, Function.identity()));
+    return ids.stream()
+        .map(byId::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private List<Long> checkBatch(List<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      throw new IllegalArgumentException("At least one id is required.");
+    }
+    List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+    if (distinct.size() > maxBatchSize) {
+      throw new IllegalArgumentException("At most " + maxBatchSize + " ids can be sent in one batch.");
+    }
+    return distinct;
+  }
+
+  private static List<Long> missing(List<Long> requested, List<Long> found) {
+    Set<Long> foundSet = new HashSet<>(found);
+    return requested.stream().filter(id -> !foundSet.contains(id)).toList();
+  }
+
+  /**
+   * Inserts or updates the row and flushes it, so the unique index on contact
+   * settles duplicates (including two concurrent creates) in the same round
+   * trip. The uploaded picture's reference is claimed and the replaced picture
+   * queued for release in the same transaction; the reference of a picture
+   * uploaded for a write that fails is released instead. The change
+   * feed hears about the write once it commits.
+   */
+  private Student write(Student student, String uploadedPicture, String replacedPicture) {
+    boolean created = student.getId() == null;
+    Student saved;
+    try {
+      saved = transactionTemplate.execute(status -> {
+        Student row = studentRepository.saveAndFlush(student);
+        if (uploadedPicture != null) {
+          fileCleanupQueue.claimUpload(uploadedPicture);
+        }
+        fileCleanupQueue.enqueue(replacedPicture);
+        eventPublisher.publishEvent(StudentChangeEvent.saved(created, studentMapper.toStoredDTO(row)));
+        return row;
+      });
+    } catch (RuntimeException e) {
+      fileCleanupQueue.dropUpload(uploadedPicture);
+      if (e instanceof DataIntegrityViolationException violation
+          && IntegrityViolations.isUniqueViolation(violation)) {
+        throw duplicateContact(student.getContact());
+      }
+      throw e;
+    }
+    contactFilter.add(saved.getContact());
+    studentSearchIndex.put(saved);
+    return saved;
+  }
+
+  /**
+   * Fails fast before a picture is uploaded for a write that the database
+   * would reject. Contacts the filter has never seen need no query.
+   */
+  private void rejectKnownContact(String contact) {
+    if (contactFilter.mightContain(contact) && studentRepository.existsByContact(contact)) {
+      throw duplicateContact(contact);
+    }
+  }
+
+  private static DuplicateResourceException duplicateContact(String contact) {
+    return new DuplicateResourceException("A student with contact '" + contact + "' already exists.");
+  }
+
+  private Student findOrThrow(Long id) {
+    return studentRepository.findById(id).orElseThrow(() -> notFound(id));
   }
 
-  private Student toEntity(StudentDTO dto) {
-    Student s = new Student();
-    s.setFName(dto.getFName());
-    s.setLName(dto.getLName());
-    s.setContact(dto.getContact());
-    s.setAddress(dto.getAddress());
-    return s;
+  private static ResourceNotFoundException notFound(Long id) {
+    return new ResourceNotFoundException("Student not found with id: " + id);
   }
 }
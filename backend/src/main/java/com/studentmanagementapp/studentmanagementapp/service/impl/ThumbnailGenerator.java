@@ -0,0 +1,289 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Produces square JPEG thumbnails (center crop) next to each uploaded picture:
+ * students/abc.png → students/thumbs/64/abc.jpg, students/thumbs/256/abc.jpg.
+ *
+ * Work runs on virtual threads. A concurrency limit caps the CPU and decoded
+ * image memory in use at once, and a pending limit caps started jobs. Jobs
+ * beyond that wait in a deferred queue and start as others finish; the
+ * caller's thread never does the work. A job holds only the key and a way to
+ * read the stored original, which is opened when the job runs. If the
+ * deferred queue is full too, the thumbnails are skipped and counted. Only a
+ * job that stored every size reports completion, see ThumbnailIndex.
+ * Large originals are decoded with source subsampling, so a 4000px photo is
+ * never fully expanded in memory to make a 256px thumbnail.
+ */
+@Slf4j
+@Component
+public class ThumbnailGenerator implements MeterBinder {
+
+  /** Receives each encoded thumbnail for storage. */
+  @FunctionalInterface
+  public interface ThumbnailSink {
+    void store(String key, byte[] jpeg, String contentType);
+  }
+
+  /** Opens the stored original; called once the job runs. */
+  @FunctionalInterface
+  public interface OriginalSource {
+    InputStream open() throws IOException;
+  }
+
+  private static final String CONTENT_TYPE = "image/jpeg";
+
+  private final List<Integer> sizes;
+  private final float quality;
+  private final int maxRunning;
+  private final int maxPending;
+  private final Semaphore running;
+  private final Semaphore pending;
+  private final BlockingQueue<Job> deferred;
+  private final AtomicLong skipped = new AtomicLong();
+  private final ExecutorService executor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("thumbnail-", 0).factory());
+
+  public ThumbnailGenerator(
+      @Value("${app.storage.thumbnails.sizes:64,256}") List<Integer> sizes,
+      @Value("${app.storage.thumbnails.quality:0.8}") float quality,
+      @Value("${app.storage.thumbnails.max-concurrency:0}") int maxConcurrency,
+      @Value("${app.storage.thumbnails.max-pending:64}") int maxPending,
+      @Value("${app.storage.thumbnails.max-deferred:10000}") int maxDeferred) {
+    this.sizes = List.copyOf(sizes);
+    this.quality = quality;
+    this.maxRunning = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+    this.maxPending = maxPending;
+    this.running = new Semaphore(maxRunning);
+    this.pending = new Semaphore(maxPending);
+    this.deferred = new ArrayBlockingQueue<>(Math.max(1, maxDeferred));
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("thumbnails.running", running, s -> maxRunning - s.availablePermits())
+        .description("Thumbnail jobs currently encoding")
+        .register(registry);
+    Gauge.builder("thumbnails.pending", pending, s -> maxPending - s.availablePermits())
+        .description("Thumbnail jobs queued or encoding in the background")
+        .register(registry);
+    Gauge.builder("thumbnails.deferred", deferred, BlockingQueue::size)
+        .description("Thumbnail jobs waiting for a pending slot")
+        .register(registry);
+    FunctionCounter.builder("thumbnails.skipped", skipped, AtomicLong::get)
+        .description("Pictures left without thumbnails because the deferred queue was full")
+        .register(registry);
+  }
+
+  public List<Integer> getSizes() {
+    return sizes;
+  }
+
+  /**
+   * Key of the thumbnail of the given size, or null for values that are not
+   * object keys (legacy URLs have no thumbnails).
+   */
+  public String thumbnailKey(String key, int size) {
+    if (key == null || key.isBlank() || key.startsWith("/") || key.startsWith("https://"))
+      return null;
+    int slash = key.lastIndexOf('/');
+    String folder = slash >= 0 ? key.substring(0, slash + 1) : "";
+    String name = key.substring(slash + 1);
+    int dot = name.lastIndexOf('.');
+    String base = dot > 0 ? name.substring(0, dot) : name;
+    return folder + "thumbs/" + size + "/" + base + ".jpg";
+  }
+
+  /**
+   * Thumbnail keys of a picture by size, in configured order; empty for legacy values.
+   */
+  public Map<Integer, String> thumbnailKeys(String key) {
+    Map<Integer, String> keys = new LinkedHashMap<>();
+    for (int size : sizes) {
+      String thumbnailKey = thumbnailKey(key, size);
+      if (thumbnailKey != null) {
+        keys.put(size, thumbnailKey);
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Generate the thumbnails of a stored original in the background. Never
+   * blocks and never does the work on the calling thread.
+   *
+   * @param complete run once every size has been stored; not run when the
+   *                 job is skipped, fails or the original is not an image
+   */
+  public void submit(String key, OriginalSource original, ThumbnailSink sink, Runnable complete) {
+    if (thumbnailKey(key, 0) == null)
+      return;
+    if (!deferred.offer(new Job(key, original, sink, complete))) {
+      skipped.incrementAndGet();
+      log.warn("Thumbnail queue full; no thumbnails for {}", key);
+      return;
+    }
+    startDeferred();
+  }
+
+  /** Starts deferred jobs while pending slots are free. */
+  private void startDeferred() {
+    while (!deferred.isEmpty() && pending.tryAcquire()) {
+      Job job = deferred.poll();
+      if (job == null) {
+        pending.release();
+        return;
+      }
+      try {
+        executor.execute(() -> {
+          try {
+            generate(job);
+          } finally {
+            pending.release();
+            startDeferred();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // Shutting down; what is still deferred is dropped
+        pending.release();
+        return;
+      }
+    }
+  }
+
+  private void generate(Job job) {
+    String key = job.key();
+    try {
+      running.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    try {
+      BufferedImage source = decode(job.original(), sizes.stream().mapToInt(Integer::intValue).max().orElse(256));
+      if (source == null) {
+        log.debug("No thumbnails for {}: not a raster image ImageIO can read", key);
+        return;
+      }
+      for (int size : sizes) {
+        job.sink().store(thumbnailKey(key, size), encode(resize(source, size)), CONTENT_TYPE);
+      }
+      job.complete().run();
+    } catch (IOException | RuntimeException e) {
+      log.warn("Thumbnail generation failed for {}", key, e);
+    } finally {
+      running.release();
+    }
+  }
+
+  private BufferedImage decode(OriginalSource original, int largestSize) throws IOException {
+    try (InputStream stream = original.open(); ImageInputStream in = ImageIO.createImageInputStream(stream)) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        int shortSide = Math.min(reader.getWidth(0), reader.getHeight(0));
+        // Keep at least twice the largest thumbnail so the final scale stays smooth
+        int step = Math.max(1, shortSide / (largestSize * 2));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private BufferedImage resize(BufferedImage source, int size) {
+    // Center square crop
+    int side = Math.min(source.getWidth(), source.getHeight());
+    BufferedImage current = source.getSubimage(
+        (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+
+    // Halve repeatedly, then one last bilinear step: close to area averaging at a fraction of the cost
+    int currentSize = side;
+    do {
+      currentSize = Math.max(size, currentSize / 2);
+      current = draw(current, currentSize);
+    } while (currentSize > size);
+    return current;
+  }
+
+  private BufferedImage draw(BufferedImage source, int size) {
+    // JPEG has no alpha: flatten onto white
+    BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = target.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.setColor(Color.WHITE);
+      g.fillRect(0, 0, size, size);
+      g.drawImage(source, 0, 0, size, size, null);
+    } finally {
+      g.dispose();
+    }
+    return target;
+  }
+
+  private byte[] encode(BufferedImage image) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+      writer.setOutput(out);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(quality);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return bytes.toByteArray();
+  }
+
+  private record Job(String key, OriginalSource original, ThumbnailSink sink, Runnable complete) {
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.close();
+  }
+}
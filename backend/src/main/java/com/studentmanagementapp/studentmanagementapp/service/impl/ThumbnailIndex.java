@@ -0,0 +1,74 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studentmanagementapp.studentmanagementapp.repository.StoredObjectRepository;
+
+/**
+ * Which stored objects have all their thumbnails. ThumbnailGenerator works in
+ * the background and may skip or fail a picture, so thumbnail URLs are only
+ * handed out once the generator has stored every size; until then clients
+ * get the picture alone.
+ *
+ * The flag lives on the object's stored_objects row and is cleared when the
+ * object is revived after a purge. Objects known to have thumbnails are
+ * remembered for app.storage.thumbnails.index-ttl, so a picture shown on
+ * every page costs no query once it is known; a purge on another instance
+ * is noticed at the latest when that entry expires.
+ */
+@Component
+public class ThumbnailIndex {
+
+  private final StoredObjectRepository storedObjectRepository;
+  private final Cache<String, Boolean> ready;
+
+  public ThumbnailIndex(StoredObjectRepository storedObjectRepository,
+      @Value("${app.storage.thumbnails.index-ttl:10m}") Duration ttl) {
+    this.storedObjectRepository = storedObjectRepository;
+    this.ready = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(ttl).build();
+  }
+
+  /** The keys among the given ones whose thumbnails have all been stored; one query for the unknown ones. */
+  public Set<String> withThumbnails(Collection<String> keys) {
+    Set<String> found = new HashSet<>();
+    Set<String> unknown = new HashSet<>();
+    for (String key : keys) {
+      if (ready.getIfPresent(key) != null) {
+        found.add(key);
+      } else {
+        unknown.add(key);
+      }
+    }
+    if (!unknown.isEmpty()) {
+      for (String key : storedObjectRepository.findWithThumbnails(unknown)) {
+        ready.put(key, Boolean.TRUE);
+        found.add(key);
+      }
+    }
+    return found;
+  }
+
+  public boolean hasThumbnails(String key) {
+    return !withThumbnails(List.of(key)).isEmpty();
+  }
+
+  /** Every thumbnail of the object has been stored. */
+  public void markReady(String key) {
+    storedObjectRepository.markThumbnails(key);
+    ready.put(key, Boolean.TRUE);
+  }
+
+  /** The object is written again (or removed); its thumbnails may be gone. */
+  public void forget(Collection<String> keys) {
+    ready.invalidateAll(keys);
+  }
+}
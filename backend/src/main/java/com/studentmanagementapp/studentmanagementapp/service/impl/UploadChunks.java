@@ -0,0 +1,46 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Copies one chunk of a resumable upload from the request body to storage
+ * through a fixed buffer, so memory use does not grow with the chunk.
+ */
+final class UploadChunks {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private UploadChunks() {
+  }
+
+  /**
+   * Copy up to maxBytes from in to out. A read failure (the client went away)
+   * ends the copy and keeps what was written; a write failure is thrown.
+   *
+   * @return bytes written
+   */
+  static long copy(InputStream in, WritableByteChannel out, long maxBytes) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long written = 0;
+    while (written < maxBytes) {
+      int read;
+      try {
+        read = in.read(buffer, 0, (int) Math.min(buffer.length, maxBytes - written));
+      } catch (IOException e) {
+        break;
+      }
+      if (read < 0) {
+        break;
+      }
+      ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+      while (chunk.hasRemaining()) {
+        out.write(chunk);
+      }
+      written += read;
+    }
+    return written;
+  }
+}
@@ -0,0 +1,27 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+/**
+ * Tells MeteredStorageService whether an upload wrote anything. A backend
+ * that finds the content already stored (ObjectReferenceCounter.acquire
+ * returned false) marks the upload on the calling thread; the decorator takes
+ * the mark when the call returns, so it never outlives one call.
+ */
+final class UploadOutcome {
+
+  private static final ThreadLocal<Boolean> DEDUPLICATED = new ThreadLocal<>();
+
+  private UploadOutcome() {
+  }
+
+  /** The upload on this thread reused a stored object. */
+  static void deduplicated() {
+    DEDUPLICATED.set(Boolean.TRUE);
+  }
+
+  /** Whether the upload on this thread was marked, clearing the mark. */
+  static boolean takeDeduplicated() {
+    Boolean deduplicated = DEDUPLICATED.get();
+    DEDUPLICATED.remove();
+    return Boolean.TRUE.equals(deduplicated);
+  }
+}
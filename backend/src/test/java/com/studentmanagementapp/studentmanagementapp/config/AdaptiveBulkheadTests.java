@@ -0,0 +1,70 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveBulkheadTests {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void rejectsOnceTheLimitAndQueueAreFull() throws Exception {
+		AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(2, 1, 2, 0, Duration.ZERO, Duration.ZERO);
+
+		assertThat(bulkhead.tryAcquire()).isTrue();
+		assertThat(bulkhead.tryAcquire()).isTrue();
+		assertThat(bulkhead.tryAcquire()).isFalse();
+		assertThat(bulkhead.getRejected()).isEqualTo(1);
+
+		bulkhead.release(FAST);
+		assertThat(bulkhead.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void queuedRequestTakesTheNextFreePermit() throws Exception {
+		AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(1, 1, 1, 1, Duration.ofSeconds(5), Duration.ZERO);
+		assertThat(bulkhead.tryAcquire()).isTrue();
+
+		Thread.ofVirtual().start(() -> {
+			while (bulkhead.getQueued() == 0) {
+				Thread.onSpinWait();
+			}
+			bulkhead.release(FAST);
+		});
+		assertThat(bulkhead.tryAcquire()).isTrue();
+		assertThat(bulkhead.getActive()).isEqualTo(1);
+	}
+
+	@Test
+	void limitGrowsWhileLatencyHoldsAndShrinksWhenItRises() throws Exception {
+		AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(20, 2, 200, 0, Duration.ZERO, Duration.ZERO);
+
+		runWindows(bulkhead, FAST, 20);
+		int grown = bulkhead.getLimit();
+		assertThat(grown).isGreaterThan(20);
+
+		runWindows(bulkhead, SLOW, 5);
+		assertThat(bulkhead.getLimit()).isLessThan(grown);
+		assertThat(bulkhead.retryAfterSeconds()).isEqualTo(1);
+	}
+
+	/** Fills the limit, then releases every permit with the given latency, once per window. */
+	private static void runWindows(AdaptiveBulkhead bulkhead, long latency, int windows) throws Exception {
+		for (int w = 0; w < windows; w++) {
+			int permits = Math.max(10, bulkhead.getLimit());
+			int taken = 0;
+			while (taken < permits && bulkhead.tryAcquire()) {
+				taken++;
+			}
+			for (int i = 0; i < taken; i++) {
+				bulkhead.release(latency);
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.studentmanagementapp.studentmanagementapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Primary and replica are two in-memory H2 databases; the database name shows
+ * which one served a query.
+ */
+@SpringBootTest(properties = "app.datasource.replica.urls="
+		+ "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({ "local", "test" })
+class DataSourceRoutingTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void readOnlyTransactionsUseTheReplicaWhenAllowed() {
+		ReadRouting.allowReplica();
+		try {
+			assertThat(database(true)).isEqualToIgnoringCase("replica");
+			assertThat(database(false)).isEqualToIgnoringCase("students");
+			assertThat(ReadRouting.onPrimary(() -> database(true))).isEqualToIgnoringCase("students");
+		} finally {
+			ReadRouting.reset();
+		}
+		assertThat(database(true)).isEqualToIgnoringCase("students");
+	}
+
+	@Test
+	void recentWriteCookieKeepsReadsOnThePrimary() throws Exception {
+		ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+		MockHttpServletResponse written = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/students/1"), written,
+				(request, response) -> { });
+		Cookie cookie = written.getCookie(ReadYourWritesFilter.COOKIE);
+		assertThat(cookie).isNotNull();
+
+		assertThat(replicaAllowed(filter, new MockHttpServletRequest("GET", "/api/v1/students"))).isTrue();
+		MockHttpServletRequest afterWrite = new MockHttpServletRequest("GET", "/api/v1/students/1");
+		afterWrite.setCookies(cookie);
+		assertThat(replicaAllowed(filter, afterWrite)).isFalse();
+		assertThat(ReadRouting.isReplicaAllowed()).isFalse();
+	}
+
+	private String database(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+	}
+
+	private static boolean replicaAllowed(ReadYourWritesFilter filter, MockHttpServletRequest request)
+			throws Exception {
+		AtomicBoolean allowed = new AtomicBoolean();
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> allowed.set(ReadRouting.isReplicaAllowed()));
+		return allowed.get();
+	}
+}
@@ -0,0 +1,113 @@
+package com.studentmanagementapp.studentmanagementapp.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class LocalImageControllerTests {
+
+	private static final String UPLOAD_DIR = "target/test-uploads/";
+
+	private static final byte[] CONTENT = "local-image-controller-test".getBytes();
+
+	private static String hash;
+
+	private final LocalImageController controller = new LocalImageController(UPLOAD_DIR);
+
+	@BeforeAll
+	static void writeFiles() throws Exception {
+		hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+		Path folder = Files.createDirectories(Path.of(UPLOAD_DIR, "students"));
+		Files.write(folder.resolve(hash + ".png"), CONTENT);
+		Files.write(folder.resolve("legacy-upload.png"), CONTENT);
+	}
+
+	@Test
+	void contentAddressedPictureGetsItsHashAsStrongEtag() throws Exception {
+		MockHttpServletResponse response = get(hash + ".png", null, null, null);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + hash + "\"");
+		assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void matchingIfNoneMatchGets304() throws Exception {
+		MockHttpServletResponse response = get(hash + ".png", "\"" + hash + "\"", null, null);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void rangeGets206() throws Exception {
+		MockHttpServletResponse response = get(hash + ".png", null, "bytes=6-10", null);
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 6-10/" + CONTENT.length);
+		assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(CONTENT, 6, 11));
+	}
+
+	@Test
+	void rangeWithMatchingIfRangeGets206AndStaleIfRangeGetsEverything() throws Exception {
+		assertThat(get(hash + ".png", null, "bytes=0-4", "\"" + hash + "\"").getStatus()).isEqualTo(206);
+
+		MockHttpServletResponse stale = get(hash + ".png", null, "bytes=0-4", "\"other\"");
+		assertThat(stale.getStatus()).isEqualTo(200);
+		assertThat(stale.getContentAsByteArray()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void invalidRangeIsIgnored() throws Exception {
+		MockHttpServletResponse response = get(hash + ".png", null, "bytes=10-4", null);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+	}
+
+	@Test
+	void rangeBeyondTheEndGets416() throws Exception {
+		MockHttpServletResponse response = get(hash + ".png", null, "bytes=1000-", null);
+
+		assertThat(response.getStatus()).isEqualTo(416);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + CONTENT.length);
+	}
+
+	@Test
+	void otherFilesGetAWeakEtagThatIfRangeNeverMatches() throws Exception {
+		String etag = get("legacy-upload.png", null, null, null).getHeader(HttpHeaders.ETAG);
+		assertThat(etag).startsWith("W/\"");
+
+		assertThat(get("legacy-upload.png", etag, null, null).getStatus()).isEqualTo(304);
+		MockHttpServletResponse ranged = get("legacy-upload.png", null, "bytes=0-4", etag);
+		assertThat(ranged.getStatus()).isEqualTo(200);
+		assertThat(ranged.getContentAsByteArray()).isEqualTo(CONTENT);
+	}
+
+	private MockHttpServletResponse get(String name, String ifNoneMatch, String range, String ifRange)
+			throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/students/" + name);
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		if (range != null) {
+			request.addHeader(HttpHeaders.RANGE, range);
+		}
+		if (ifRange != null) {
+			request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.serve(request, response);
+		return response;
+	}
+}
@@ -0,0 +1,34 @@
+package com.studentmanagementapp.studentmanagementapp.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+class GlobalExceptionHandlerTests {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+	@Test
+	void uniqueViolationIsAConflict() {
+		DataIntegrityViolationException e = violation(ConstraintViolationException.ConstraintKind.UNIQUE);
+
+		assertThat(handler.handleIntegrityViolation(e).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+	}
+
+	@Test
+	void otherViolationsAreServerErrors() {
+		DataIntegrityViolationException e = violation(ConstraintViolationException.ConstraintKind.NOT_NULL);
+
+		assertThat(handler.handleIntegrityViolation(e).getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	private static DataIntegrityViolationException violation(ConstraintViolationException.ConstraintKind kind) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new ConstraintViolationException("constraint violated", new SQLException(), null, kind, "c"));
+	}
+}
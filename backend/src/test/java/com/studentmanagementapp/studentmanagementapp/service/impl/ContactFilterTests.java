@@ -0,0 +1,39 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ContactFilterTests {
+
+	private static final int CONTACTS = 50_000;
+
+	@Test
+	void reportsEverythingUntilLoaded() {
+		ContactFilter filter = new ContactFilter(1000, 0.01);
+		assertThat(filter.mightContain("0771234567")).isTrue();
+
+		filter.beginLoad(0);
+		filter.endLoad();
+		assertThat(filter.mightContain("0771234567")).isFalse();
+	}
+
+	@Test
+	void neverMissesAnAddedContactAndRarelyClaimsANewOne() {
+		ContactFilter filter = new ContactFilter(CONTACTS, 0.01);
+		filter.beginLoad(CONTACTS / 2);
+		for (int i = 0; i < CONTACTS; i++) {
+			filter.add("07" + i);
+		}
+		filter.endLoad();
+
+		int falsePositives = 0;
+		for (int i = 0; i < CONTACTS; i++) {
+			assertThat(filter.mightContain("07" + i)).isTrue();
+			if (filter.mightContain("08" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(CONTACTS / 50);
+	}
+}
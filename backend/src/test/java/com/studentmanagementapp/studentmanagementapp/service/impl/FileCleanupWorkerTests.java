@@ -0,0 +1,123 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studentmanagementapp.studentmanagementapp.entity.FileDeletion;
+import com.studentmanagementapp.studentmanagementapp.exception.PurgeFailedException;
+import com.studentmanagementapp.studentmanagementapp.exception.UploadExpiredException;
+import com.studentmanagementapp.studentmanagementapp.repository.FileDeletionRepository;
+import com.studentmanagementapp.studentmanagementapp.repository.StoredObjectRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+@SpringBootTest
+@ActiveProfiles({ "local", "test" })
+class FileCleanupWorkerTests {
+
+	@Autowired
+	private StorageService storageService;
+
+	@Autowired
+	private FileCleanupQueue fileCleanupQueue;
+
+	@Autowired
+	private FileCleanupWorker fileCleanupWorker;
+
+	@Autowired
+	private FileDeletionRepository fileDeletionRepository;
+
+	@Autowired
+	private StoredObjectRepository storedObjectRepository;
+
+	@Autowired
+	private ObjectReferenceCounter referenceCounter;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void sharedPictureIsRemovedWithTheLastReference() {
+		MockMultipartFile picture = new MockMultipartFile("profileImage", "a.png", "image/png",
+				"cleanup-worker-test".getBytes());
+		String key = storageService.uploadFile(picture, "students");
+		assertThat(storageService.uploadFile(picture, "students")).isEqualTo(key);
+		// Two students saved with it
+		fileCleanupQueue.claimUpload(key);
+		fileCleanupQueue.claimUpload(key);
+		Path file = Path.of("target/test-uploads").resolve(key);
+
+		fileCleanupQueue.enqueue(key);
+		fileCleanupWorker.drain();
+		assertThat(file).exists();
+
+		fileCleanupQueue.enqueue(key);
+		fileCleanupWorker.drain();
+		assertThat(Files.exists(file)).isFalse();
+		assertThat(fileDeletionRepository.findAll()).extracting(FileDeletion::getKey).doesNotContain(key);
+	}
+
+	@Test
+	void uploadThatIsNeverSavedIsReleased() {
+		MockMultipartFile picture = new MockMultipartFile("profileImage", "a.png", "image/png",
+				"cleanup-worker-unsaved".getBytes());
+		String key = storageService.uploadFile(picture, "students");
+		Path file = Path.of("target/test-uploads").resolve(key);
+
+		// Not due yet: the student row may still claim it
+		fileCleanupWorker.drain();
+		assertThat(file).exists();
+
+		fileCleanupQueue.dropUpload(key);
+		fileCleanupWorker.drain();
+		assertThat(Files.exists(file)).isFalse();
+		assertThatThrownBy(() -> fileCleanupQueue.claimUpload(key)).isInstanceOf(UploadExpiredException.class);
+	}
+
+	@Test
+	void onlyObjectsThatFailedToDeleteAreRetried() {
+		String failedKey = storageService.uploadFile(new MockMultipartFile("profileImage", "a.png", "image/png",
+				"cleanup-worker-failed".getBytes()), "students");
+		String deletedKey = storageService.uploadFile(new MockMultipartFile("profileImage", "a.png", "image/png",
+				"cleanup-worker-deleted".getBytes()), "students");
+		fileCleanupQueue.dropUpload(failedKey);
+		fileCleanupQueue.dropUpload(deletedKey);
+
+		StorageService failing = mock(StorageService.class);
+		when(failing.purgeFiles(anyCollection())).thenAnswer(call -> {
+			if (call.<Collection<String>>getArgument(0).contains(failedKey)) {
+				throw new PurgeFailedException(Set.of(failedKey), 0);
+			}
+			return 0L;
+		});
+		new FileCleanupWorker(fileDeletionRepository, referenceCounter, failing, transactionTemplate, 100,
+				Duration.ofSeconds(10), Duration.ofHours(1), Duration.ofMinutes(5)).drain();
+
+		assertThat(fileDeletionRepository.findAll())
+				.filteredOn(entry -> entry.getKey().equals(failedKey) || entry.getKey().equals(deletedKey))
+				.singleElement().satisfies(entry -> {
+			assertThat(entry.getKey()).isEqualTo(failedKey);
+			assertThat(entry.getAttempts()).isOne();
+			assertThat(entry.getLastError()).isNotNull();
+		});
+		// Released but not purged: the row waits at zero for the retry
+		assertThat(storedObjectRepository.findById(failedKey))
+				.hasValueSatisfying(object -> assertThat(object.getRefCount()).isZero());
+		assertThat(storedObjectRepository.existsById(deletedKey)).isFalse();
+	}
+}
@@ -0,0 +1,188 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+import com.studentmanagementapp.studentmanagementapp.exception.PurgeFailedException;
+
+@SpringBootTest
+@ActiveProfiles({ "local", "test" })
+class GcsStorageServiceImplTests {
+
+	private static final String BUCKET = "test-bucket";
+
+	@Autowired
+	private ObjectReferenceCounter referenceCounter;
+
+	@Autowired
+	private FileCleanupQueue fileCleanupQueue;
+
+	@Autowired
+	private ThumbnailIndex thumbnailIndex;
+
+	/** LocalStorageHelper's in-memory storage, without batch support. */
+	private Storage fake;
+
+	private Storage storage;
+
+	private GcsStorageServiceImpl storageService;
+
+	@BeforeEach
+	void setUp() {
+		fake = LocalStorageHelper.getOptions().getService();
+		storage = batchable(fake);
+		storageService = storageService(storage);
+	}
+
+	@Test
+	void uploadStoresObjectUnderContentHash() {
+		MockMultipartFile file = new MockMultipartFile("profileImage", "me.PNG", "image/png", new byte[] { 1, 2, 3 });
+
+		String key = storageService.uploadFile(file, "students");
+
+		assertThat(key).matches("students/[0-9a-f]{64}\\.png");
+		assertThat(storage.readAllBytes(BlobId.of(BUCKET, key))).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	void sameContentIsUploadedOnce() {
+		MockMultipartFile file = new MockMultipartFile("profileImage", "a.png", "image/png", new byte[] { 4, 5 });
+		String first = save(file);
+		storage.delete(BlobId.of(BUCKET, first));
+
+		// Still referenced: the counter says the blob exists, so nothing is sent
+		String second = save(file);
+
+		assertThat(second).isEqualTo(first);
+		assertThat(storage.get(BlobId.of(BUCKET, second))).isNull();
+	}
+
+	@Test
+	void deleteKeepsObjectWhileReferenced() {
+		MockMultipartFile file = new MockMultipartFile("profileImage", "me.png", "image/png", new byte[] { 6 });
+		String key = save(file);
+		save(file);
+
+		storageService.deleteFile(key);
+		assertThat(storage.get(BlobId.of(BUCKET, key))).isNotNull();
+
+		storageService.deleteFile(key);
+		assertThat(storage.get(BlobId.of(BUCKET, key))).isNull();
+	}
+
+	@Test
+	void uploadBetweenReleaseAndPurgeKeepsObject() {
+		MockMultipartFile file = new MockMultipartFile("profileImage", "me.png", "image/png", new byte[] { 8, 9 });
+		String key = save(file);
+		assertThat(referenceCounter.release(key)).isTrue();
+
+		// The same content arrives while the release waits for its purge, and is written again
+		assertThat(save(file)).isEqualTo(key);
+		ObjectReferenceCounter.Purged purged = referenceCounter.purgeUnreferenced(List.of(key),
+				storageService::purgeFiles);
+
+		assertThat(purged.objects()).isZero();
+		assertThat(storage.readAllBytes(BlobId.of(BUCKET, key))).containsExactly(8, 9);
+	}
+
+	@Test
+	void deleteAcceptsLegacySignedUrl() {
+		MockMultipartFile file = new MockMultipartFile("profileImage", "me.png", "image/png", new byte[] { 7 });
+		String key = storageService.uploadFile(file, "students");
+
+		storageService.deleteFile("https://storage.googleapis.com/" + BUCKET + "/" + key + "?X-Goog-Signature=abc");
+
+		assertThat(storage.get(BlobId.of(BUCKET, key))).isNull();
+	}
+
+	@Test
+	void purgeDeletesObjectsWithTheirThumbnailsAndCountsWhatWasDeleted() {
+		String key = store("a", 10);
+		String thumbnail = "students/thumbs/64/" + "a".repeat(64) + ".jpg";
+		storage.create(BlobInfo.newBuilder(BUCKET, thumbnail).build(), new byte[3]);
+
+		// The 256px thumbnail and the second object do not exist and free nothing
+		long freed = storageService.purgeFiles(List.of(key, "students/" + "9".repeat(64) + ".png"));
+
+		assertThat(freed).isEqualTo(13);
+		assertThat(storage.get(BlobId.of(BUCKET, key))).isNull();
+		assertThat(storage.get(BlobId.of(BUCKET, thumbnail))).isNull();
+	}
+
+	@Test
+	void purgeReportsTheObjectsItCouldNotDelete() {
+		String failedKey = store("b", 10);
+		String deletedKey = store("c", 7);
+		Storage failing = batchable(fake);
+		// The batch call for the first blob fails; the others go through
+		doAnswer(call -> {
+			List<BlobId> blobs = blobs(call.getArgument(0));
+			List<Boolean> results = new ArrayList<>();
+			for (int i = 0; i < blobs.size(); i++) {
+				results.add(i == 0 ? null : fake.delete(blobs.get(i)));
+			}
+			return results;
+		}).when(failing).delete(anyIterable());
+
+		assertThatThrownBy(() -> storageService(failing).purgeFiles(List.of(failedKey, deletedKey)))
+				.isInstanceOfSatisfying(PurgeFailedException.class, e -> {
+					assertThat(e.getFailedKeys()).containsExactly(failedKey);
+					assertThat(e.getFreedBytes()).isEqualTo(7);
+				});
+	}
+
+	/**
+	 * The fake throws on batch requests; answers the batched get and delete that
+	 * purgeFiles sends one blob at a time instead.
+	 */
+	private static Storage batchable(Storage fake) {
+		Storage storage = spy(fake);
+		doAnswer(call -> blobs(call.getArgument(0)).stream().map(blob -> fake.get(blob)).toList())
+				.when(storage).get(anyIterable());
+		doAnswer(call -> blobs(call.getArgument(0)).stream().map(blob -> fake.delete(blob)).toList())
+				.when(storage).delete(anyIterable());
+		return storage;
+	}
+
+	private static List<BlobId> blobs(Iterable<BlobId> ids) {
+		List<BlobId> blobs = new ArrayList<>();
+		ids.forEach(blobs::add);
+		return blobs;
+	}
+
+	private GcsStorageServiceImpl storageService(Storage storage) {
+		return new GcsStorageServiceImpl(storage, new ThumbnailGenerator(List.of(64, 256), 0.8f, 1, 4, 100),
+				referenceCounter, thumbnailIndex, BUCKET, Duration.ofHours(1), Duration.ofMinutes(5), 100);
+	}
+
+	private String store(String hashDigit, int size) {
+		String key = "students/" + hashDigit.repeat(64) + ".png";
+		storage.create(BlobInfo.newBuilder(BUCKET, key).build(), new byte[size]);
+		return key;
+	}
+
+	/** Upload and claim the reference, as a student save does. */
+	private String save(MockMultipartFile file) {
+		String key = storageService.uploadFile(file, "students");
+		fileCleanupQueue.claimUpload(key);
+		return key;
+	}
+}
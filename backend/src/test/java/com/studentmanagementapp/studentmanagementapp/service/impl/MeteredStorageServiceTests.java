@@ -0,0 +1,74 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredStorageServiceTests {
+
+	private SimpleMeterRegistry registry;
+
+	private StorageService delegate;
+
+	private MeteredStorageService storage;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		delegate = mock(StorageService.class);
+		storage = new MeteredStorageService(delegate, registry, "gcs");
+	}
+
+	@Test
+	void uploadIsTimedAndSized() {
+		MockMultipartFile file = new MockMultipartFile("profileImage", "a.png", "image/png", new byte[1500]);
+		when(delegate.uploadFile(file, "students")).thenReturn("students/a.png");
+
+		assertThat(storage.uploadFile(file, "students")).isEqualTo("students/a.png");
+
+		assertThat(registry.get("storage.requests")
+			.tags("backend", "gcs", "operation", "upload", "outcome", "success")
+			.timer()
+			.count()).isEqualTo(1);
+		assertThat(registry.get("storage.upload.bytes").tags("result", "written").summary().totalAmount())
+			.isEqualTo(1500);
+	}
+
+	@Test
+	void deduplicatedUploadIsNotCountedAsWritten() {
+		MockMultipartFile file = new MockMultipartFile("profileImage", "a.png", "image/png", new byte[1500]);
+		when(delegate.uploadFile(file, "students")).thenAnswer(call -> {
+			UploadOutcome.deduplicated();
+			return "students/a.png";
+		});
+
+		storage.uploadFile(file, "students");
+
+		assertThat(registry.get("storage.upload.bytes").tags("result", "written").summary().count()).isZero();
+		assertThat(registry.get("storage.upload.bytes").tags("result", "deduplicated").summary().totalAmount())
+			.isEqualTo(1500);
+	}
+
+	@Test
+	void failuresAreCountedByException() {
+		doThrow(new IllegalStateException("bucket unavailable")).when(delegate).deleteFile("students/a.png");
+
+		assertThatThrownBy(() -> storage.deleteFile("students/a.png")).isInstanceOf(IllegalStateException.class);
+
+		assertThat(registry.get("storage.requests").tags("operation", "delete", "outcome", "error").timer().count())
+			.isEqualTo(1);
+		assertThat(registry.get("storage.errors").tags("exception", "IllegalStateException").counter().count())
+			.isEqualTo(1);
+	}
+
+}
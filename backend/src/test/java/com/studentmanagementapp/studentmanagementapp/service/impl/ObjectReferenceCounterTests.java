@@ -0,0 +1,89 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studentmanagementapp.studentmanagementapp.repository.StoredObjectRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StorageService;
+
+@SpringBootTest
+@ActiveProfiles({ "local", "test" })
+class ObjectReferenceCounterTests {
+
+	@Autowired
+	private StorageService storageService;
+
+	@Autowired
+	private ObjectReferenceCounter referenceCounter;
+
+	@Autowired
+	private StoredObjectRepository storedObjectRepository;
+
+	@Autowired
+	private FileCleanupQueue fileCleanupQueue;
+
+	@Test
+	void uploadBetweenReleaseAndPurgeKeepsTheFile() {
+		MockMultipartFile picture = picture("revived-before-purge");
+		String key = save(picture);
+		assertThat(referenceCounter.release(key)).isTrue();
+
+		// The same content arrives while the release waits for its purge
+		assertThat(save(picture)).isEqualTo(key);
+		ObjectReferenceCounter.Purged purged = referenceCounter.purgeUnreferenced(List.of(key),
+				storageService::purgeFiles);
+
+		assertThat(purged.objects()).isZero();
+		assertThat(file(key)).exists();
+		assertThat(storedObjectRepository.findById(key)).hasValueSatisfying(o -> assertThat(o.getRefCount()).isOne());
+	}
+
+	@Test
+	void uploadAfterPurgeWritesTheFileAgain() {
+		MockMultipartFile picture = picture("written-after-purge");
+		String key = save(picture);
+		assertThat(referenceCounter.release(key)).isTrue();
+		referenceCounter.purgeUnreferenced(List.of(key), storageService::purgeFiles);
+		assertThat(Files.exists(file(key))).isFalse();
+		assertThat(storedObjectRepository.existsById(key)).isFalse();
+
+		assertThat(save(picture)).isEqualTo(key);
+		assertThat(file(key)).exists();
+	}
+
+	@Test
+	void uploadOfAReleasedObjectWritesTheFileEvenIfItLooksPresent() throws Exception {
+		MockMultipartFile picture = picture("zero-count-row");
+		String key = save(picture);
+		assertThat(referenceCounter.release(key)).isTrue();
+		// A purge that deleted the file but failed before dropping the row
+		Files.delete(file(key));
+
+		assertThat(save(picture)).isEqualTo(key);
+		assertThat(file(key)).exists();
+	}
+
+	/** Upload and claim the reference, as a student save does. */
+	private String save(MockMultipartFile picture) {
+		String key = storageService.uploadFile(picture, "students");
+		fileCleanupQueue.claimUpload(key);
+		return key;
+	}
+
+	private static MockMultipartFile picture(String content) {
+		return new MockMultipartFile("profileImage", "a.png", "image/png", content.getBytes());
+	}
+
+	private static Path file(String key) {
+		return Path.of("target/test-uploads").resolve(key);
+	}
+}
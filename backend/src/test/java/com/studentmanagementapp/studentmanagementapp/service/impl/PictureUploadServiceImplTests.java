@@ -0,0 +1,138 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.studentmanagementapp.studentmanagementapp.dto.PictureUploadDTO;
+import com.studentmanagementapp.studentmanagementapp.entity.PictureUpload;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.exception.ResourceNotFoundException;
+import com.studentmanagementapp.studentmanagementapp.exception.UploadConflictException;
+import com.studentmanagementapp.studentmanagementapp.repository.PictureUploadRepository;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.PictureUploadService;
+
+@SpringBootTest
+@ActiveProfiles({ "local", "test" })
+class PictureUploadServiceImplTests {
+
+	@Autowired
+	private PictureUploadService pictureUploadService;
+
+	@Autowired
+	private PictureUploadServiceImpl pictureUploadServiceImpl;
+
+	@MockitoSpyBean
+	private PictureAttacher pictureAttacher;
+
+	@Autowired
+	private PictureUploadRepository pictureUploadRepository;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void chunksAreAppendedAndTheLastOneAttachesThePicture() throws Exception {
+		Student student = studentRepository.save(new Student(null, "Ann", "Lee", "resumable-1", "Main St", null, 0));
+		byte[] picture = "resumable-upload-test-picture".getBytes();
+		int half = picture.length / 2;
+
+		PictureUploadDTO upload = pictureUploadService.startUpload(student.getId(), picture.length, "me.png",
+				"image/png");
+		PictureUploadDTO first = pictureUploadService.appendChunk(student.getId(), upload.getId(), 0,
+				new ByteArrayInputStream(Arrays.copyOf(picture, half)));
+		assertThat(first.getOffset()).isEqualTo(half);
+
+		// A client that lost the response retries the first chunk and is told the real offset
+		assertThatThrownBy(() -> pictureUploadService.appendChunk(student.getId(), upload.getId(), 0,
+				new ByteArrayInputStream(picture))).isInstanceOf(UploadConflictException.class);
+		assertThat(pictureUploadService.getUpload(student.getId(), upload.getId()).getOffset()).isEqualTo(half);
+
+		PictureUploadDTO last = pictureUploadService.appendChunk(student.getId(), upload.getId(), half,
+				new ByteArrayInputStream(Arrays.copyOfRange(picture, half, picture.length)));
+		assertThat(last.getOffset()).isEqualTo(picture.length);
+
+		String key = studentRepository.findById(student.getId()).orElseThrow().getPicture();
+		assertThat(key).startsWith("students/").endsWith(".png");
+		assertThat(Files.readAllBytes(Path.of("target/test-uploads").resolve(key))).isEqualTo(picture);
+		assertThat(pictureUploadRepository.existsById(upload.getId())).isFalse();
+	}
+
+	@Test
+	void chunkAtTheWrongOffsetIsRejected() {
+		Student student = studentRepository.save(new Student(null, "Ann", "Lee", "resumable-2", "Main St", null, 0));
+		PictureUploadDTO upload = pictureUploadService.startUpload(student.getId(), 10, "me.png", "image/png");
+
+		assertThatThrownBy(() -> pictureUploadService.appendChunk(student.getId(), upload.getId(), 4,
+				new ByteArrayInputStream(new byte[6]))).isInstanceOf(UploadConflictException.class);
+		assertThat(pictureUploadService.getUpload(student.getId(), upload.getId()).getOffset()).isZero();
+	}
+
+	@Test
+	void chunkIsRejectedWhileAnotherHoldsTheLease() {
+		Student student = studentRepository.save(new Student(null, "Ann", "Lee", "resumable-3", "Main St", null, 0));
+		PictureUploadDTO upload = pictureUploadService.startUpload(student.getId(), 4, "me.png", "image/png");
+		// Another instance is receiving a chunk
+		Instant now = Instant.now();
+		pictureUploadRepository.lease(upload.getId(), student.getId(), now, now.plusSeconds(60));
+
+		assertThatThrownBy(() -> pictureUploadService.appendChunk(student.getId(), upload.getId(), 0,
+				new ByteArrayInputStream(new byte[4]))).isInstanceOf(UploadConflictException.class);
+		assertThat(pictureUploadService.getUpload(student.getId(), upload.getId()).getOffset()).isZero();
+	}
+
+	@Test
+	void emptyChunkAfterAFailedAttachAttachesTheStoredPicture() throws Exception {
+		Student student = studentRepository.save(new Student(null, "Ann", "Lee", "resumable-4", "Main St", null, 0));
+		byte[] picture = "resumable-retry-after-completion".getBytes();
+		PictureUploadDTO upload = pictureUploadService.startUpload(student.getId(), picture.length, "me.png",
+				"image/png");
+
+		doThrow(new IllegalStateException("connection lost")).doCallRealMethod()
+				.when(pictureAttacher).attach(anyLong(), anyString());
+		assertThatThrownBy(() -> pictureUploadService.appendChunk(student.getId(), upload.getId(), 0,
+				new ByteArrayInputStream(picture))).isInstanceOf(IllegalStateException.class);
+		String key = pictureUploadRepository.findById(upload.getId()).orElseThrow().getPicture();
+		assertThat(key).startsWith("students/");
+
+		// The partial upload is gone; the retry attaches the object recorded on the row
+		pictureUploadService.appendChunk(student.getId(), upload.getId(), picture.length,
+				new ByteArrayInputStream(new byte[0]));
+
+		assertThat(studentRepository.findById(student.getId()).orElseThrow().getPicture()).isEqualTo(key);
+		assertThat(Files.readAllBytes(Path.of("target/test-uploads").resolve(key))).isEqualTo(picture);
+		assertThat(pictureUploadRepository.existsById(upload.getId())).isFalse();
+	}
+
+	@Test
+	void idleUploadsAreDiscarded() {
+		Student student = studentRepository.save(new Student(null, "Ann", "Lee", "resumable-5", "Main St", null, 0));
+		PictureUploadDTO idle = pictureUploadService.startUpload(student.getId(), 10, "me.png", "image/png");
+		PictureUploadDTO active = pictureUploadService.startUpload(student.getId(), 10, "me.png", "image/png");
+		PictureUpload row = pictureUploadRepository.findById(idle.getId()).orElseThrow();
+		row.setUpdatedAt(Instant.now().minus(Duration.ofDays(2)));
+		pictureUploadRepository.save(row);
+
+		pictureUploadServiceImpl.expireUploads();
+
+		assertThatThrownBy(() -> pictureUploadService.getUpload(student.getId(), idle.getId()))
+				.isInstanceOf(ResourceNotFoundException.class);
+		assertThat(pictureUploadService.getUpload(student.getId(), active.getId()).getOffset()).isZero();
+	}
+}
@@ -0,0 +1,129 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+class StudentChangeFeedImplTests {
+
+	private static final int HISTORY = 4;
+
+	private static final int CLIENT_BUFFER = 2;
+
+	/** Released to let a blocked client's sends through. */
+	private final CountDownLatch slowClient = new CountDownLatch(1);
+
+	private boolean blockSends;
+
+	private final StudentChangeFeedImpl feed = new StudentChangeFeedImpl(null, JsonMapper.builder().build(), HISTORY,
+			CLIENT_BUFFER, Duration.ofMinutes(1), Duration.ofMinutes(1)) {
+		@Override
+		SseEmitter newEmitter(long timeoutMillis) {
+			return new RecordingEmitter(blockSends);
+		}
+	};
+
+	@AfterEach
+	void tearDown() {
+		slowClient.countDown();
+		feed.shutdown();
+	}
+
+	@Test
+	void reconnectWithLastEventIdGetsTheChangesItMissed() throws Exception {
+		long start = readyId(feed.subscribe(null));
+		delete(1L);
+		delete(2L);
+		delete(3L);
+
+		SseEmitter reconnected = feed.subscribe(start + 1);
+
+		assertThat(next(reconnected)).contains("id:" + (start + 2)).contains("event:deleted").contains("[2]");
+		assertThat(next(reconnected)).contains("id:" + (start + 3)).contains("[3]");
+	}
+
+	@Test
+	void reconnectFromBeforeTheHistoryGetsAReset() throws Exception {
+		long start = readyId(feed.subscribe(null));
+		for (long id = 1; id <= HISTORY + 1; id++) {
+			delete(id);
+		}
+
+		SseEmitter reconnected = feed.subscribe(start);
+
+		assertThat(next(reconnected)).contains("id:" + (start + HISTORY + 1)).contains("event:reset");
+	}
+
+	@Test
+	void clientThatFallsBehindIsDisconnected() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		feed.bindTo(registry);
+		blockSends = true;
+		feed.subscribe(null);
+		assertThat(registry.get("students.changes.clients").gauge().value()).isOne();
+
+		// The client's thread is stuck sending "ready"; its buffer takes two more
+		for (long id = 1; id <= CLIENT_BUFFER + 1; id++) {
+			delete(id);
+		}
+
+		assertThat(registry.get("students.changes.dropped").functionCounter().count()).isOne();
+		assertThat(registry.get("students.changes.clients").gauge().value()).isZero();
+	}
+
+	private void delete(Long id) {
+		feed.onChange(StudentChangeEvent.deleted(List.of(id)));
+	}
+
+	private long readyId(SseEmitter emitter) throws InterruptedException {
+		String ready = next(emitter);
+		assertThat(ready).contains(":ready");
+		return Long.parseLong(ready.substring(ready.indexOf("id:") + 3, ready.indexOf('\n')));
+	}
+
+	private static String next(SseEmitter emitter) throws InterruptedException {
+		String event = ((RecordingEmitter) emitter).sent.poll(5, TimeUnit.SECONDS);
+		assertThat(event).as("an event within 5s").isNotNull();
+		return event;
+	}
+
+	/** Renders each event as it would go on the wire. */
+	private final class RecordingEmitter extends SseEmitter {
+
+		private final boolean blocked;
+
+		private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+		private RecordingEmitter(boolean blocked) {
+			this.blocked = blocked;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (blocked) {
+				try {
+					slowClient.await();
+				} catch (InterruptedException e) {
+					throw new IOException("Client closed", e);
+				}
+			}
+			sent.add(builder.build().stream()
+					.map(part -> String.valueOf(part.getData()))
+					.collect(Collectors.joining()));
+		}
+	}
+}
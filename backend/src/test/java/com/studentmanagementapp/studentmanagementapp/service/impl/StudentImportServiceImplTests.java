@@ -0,0 +1,84 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studentmanagementapp.studentmanagementapp.dto.ImportReportDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.ImportRowResultDTO;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentFileFormat;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StudentImportService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles({ "local", "test" })
+class StudentImportServiceImplTests {
+
+	private static final int ROWS = 20_000;
+
+	@Autowired
+	private StudentImportService studentImportService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void importsLargeCsvInBatches() throws Exception {
+		byte[] csv = csv("bulk-", ROWS);
+		long before = studentRepository.count();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		ImportReportDTO report = studentImportService.importStudents(StudentFileFormat.CSV,
+				new ByteArrayInputStream(csv));
+
+		assertThat(report.getCreated()).isEqualTo(ROWS);
+		assertThat(report.getFailed()).isZero();
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+		// Per 500-row chunk: one contact lookup, ten sequence calls and one batched
+		// insert; one statement per row would be 20,000+
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(ROWS / 20);
+		assertThat(studentRepository.count()).isEqualTo(before + ROWS);
+	}
+
+	@Test
+	void reportsDuplicatesAndInvalidRows() throws Exception {
+		String csv = """
+				fName,lName,contact,address
+				Ann,Lee,dup-1,"12, Main St"
+				Ben,Ray,dup-1,Elm St
+				,Kay,dup-2,Oak St
+				""";
+		ImportReportDTO first = studentImportService.importStudents(StudentFileFormat.CSV,
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(first.getRows()).extracting(ImportRowResultDTO::getStatus)
+				.containsExactly(ImportRowResultDTO.CREATED, ImportRowResultDTO.DUPLICATE, ImportRowResultDTO.INVALID);
+
+		ImportReportDTO second = studentImportService.importStudents(StudentFileFormat.CSV,
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+		assertThat(second.getRows().get(0).getStatus()).isEqualTo(ImportRowResultDTO.DUPLICATE);
+	}
+
+	private static byte[] csv(String contactPrefix, int rows) {
+		StringBuilder sb = new StringBuilder("fName,lName,contact,address\n");
+		for (int i = 0; i < rows; i++) {
+			sb.append("First").append(i).append(",Last").append(i).append(',')
+					.append(contactPrefix).append(i).append(",Street ").append(i).append('\n');
+		}
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,70 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.studentmanagementapp.studentmanagementapp.config.CacheConfig;
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+
+class StudentReadCacheTests {
+
+	private StudentRepository studentRepository;
+
+	private StudentReadCache cache;
+
+	@BeforeEach
+	void setUp() {
+		studentRepository = mock(StudentRepository.class);
+		cache = new StudentReadCache(studentRepository, new StudentMapper(null, null, null), Duration.ofSeconds(5),
+				new CaffeineCacheManager(CacheConfig.STUDENTS));
+	}
+
+	@Test
+	void repeatedReadsHitTheCache() {
+		when(studentRepository.findById(1L)).thenReturn(Optional.of(student(0)));
+
+		cache.find(1L);
+		cache.find(1L);
+
+		verify(studentRepository, times(1)).findById(1L);
+	}
+
+	@Test
+	void loadThatReadTheOldRowBeforeAWriteIsNotCached() throws Exception {
+		CountDownLatch read = new CountDownLatch(1);
+		CountDownLatch written = new CountDownLatch(1);
+		when(studentRepository.findById(1L)).thenAnswer(call -> {
+			// The old row is read, then the write commits and evicts before the load stores it
+			read.countDown();
+			written.await(5, TimeUnit.SECONDS);
+			return Optional.of(student(0));
+		}).thenReturn(Optional.of(student(1)));
+
+		CompletableFuture<StudentDTO> slow = CompletableFuture.supplyAsync(() -> cache.find(1L));
+		assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+		cache.evict(1L);
+		written.countDown();
+
+		assertThat(slow.get(5, TimeUnit.SECONDS).getVersion()).isZero();
+		assertThat(cache.find(1L).getVersion()).isEqualTo(1);
+	}
+
+	private static Student student(long version) {
+		return new Student(1L, "Ann", "Lee", "cache-1", "Main St", null, version);
+	}
+}
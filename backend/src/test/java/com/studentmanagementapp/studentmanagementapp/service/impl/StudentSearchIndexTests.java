@@ -0,0 +1,78 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+
+class StudentSearchIndexTests {
+
+	private StudentSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new StudentSearchIndex();
+		index.putAll(List.of(
+				student(1, "Nimal", "Perera", "0771234567", "12 Temple Road, Colombo", 0),
+				student(2, "Kamal", "Silva", "0719876543", "5 Lake Drive, Kandy", 0),
+				student(3, "Amara", "Pererawardena", "0770001111", "8 Hill Street, Galle", 0)));
+	}
+
+	@Test
+	void rankingPrefersExactThenPrefixThenSubstring() {
+		assertThat(ids("perera")).containsExactly(1L, 3L);
+		assertThat(ids("era")).containsExactly(1L, 3L);
+		assertThat(ids("0777")).isEmpty();
+		assertThat(ids("987")).containsExactly(2L);
+	}
+
+	@Test
+	void shortTermsMatchWordStartsOnly() {
+		assertThat(ids("ka")).containsExactly(2L); // Kamal, Kandy
+		assertThat(ids("ma")).isEmpty(); // only inside "Kamal" / "Amara"
+		assertThat(ids("c")).containsExactly(1L); // Colombo
+	}
+
+	@Test
+	void everyTermMustMatch() {
+		assertThat(ids("perera colombo")).containsExactly(1L);
+		assertThat(ids("Perera KANDY")).isEmpty();
+	}
+
+	@Test
+	void updatesAndDeletesAreVisible() {
+		index.put(student(2, "Kamal", "Fernando", "0719876543", "5 Lake Drive, Kandy", 1));
+		assertThat(ids("silva")).isEmpty();
+		assertThat(ids("fernando")).containsExactly(2L);
+
+		// A stale read of an older version must not undo the update
+		index.put(student(2, "Kamal", "Silva", "0719876543", "5 Lake Drive, Kandy", 0));
+		assertThat(ids("fernando")).containsExactly(2L);
+
+		index.remove(1L);
+		assertThat(ids("perera")).containsExactly(3L);
+	}
+
+	@Test
+	void deleteDuringLoadIsNotUndoneByLoad() {
+		index.beginLoad();
+		index.remove(4L);
+		index.put(student(4, "Ruwan", "Jayasuriya", "0755555555", "1 Beach Road, Matara", 0));
+		index.endLoad();
+
+		assertThat(ids("jayasuriya")).isEmpty();
+	}
+
+	private List<Long> ids(String query) {
+		return index.search(query, 10).stream().map(StudentSearchIndex.Hit::id).toList();
+	}
+
+	private static Student student(long id, String fName, String lName, String contact, String address, long version) {
+		return new Student(id, fName, lName, contact, address, null, version);
+	}
+
+}
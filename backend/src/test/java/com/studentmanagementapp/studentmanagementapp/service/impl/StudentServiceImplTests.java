@@ -0,0 +1,120 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studentmanagementapp.studentmanagementapp.dto.StudentDTO;
+import com.studentmanagementapp.studentmanagementapp.entity.Student;
+import com.studentmanagementapp.studentmanagementapp.exception.DuplicateResourceException;
+import com.studentmanagementapp.studentmanagementapp.exception.PreconditionFailedException;
+import com.studentmanagementapp.studentmanagementapp.repository.StudentRepository;
+import com.studentmanagementapp.studentmanagementapp.service.StudentService;
+
+@SpringBootTest
+@ActiveProfiles({ "local", "test" })
+class StudentServiceImplTests {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Test
+	void patchWritesOnlyTheGivenFieldsAtTheExpectedVersion() {
+		Student student = studentRepository.save(new Student(null, "Ann", "Lee", "patch-1", "Main St", null, 0));
+
+		StudentDTO patched = studentService.patchStudent(student.getId(), Map.of("address", "Elm St"),
+				student.getVersion());
+		assertThat(patched.getAddress()).isEqualTo("Elm St");
+		assertThat(patched.getFName()).isEqualTo("Ann");
+		assertThat(patched.getContact()).isEqualTo("patch-1");
+		assertThat(patched.getVersion()).isEqualTo(student.getVersion() + 1);
+
+		// A second writer still holding the old version is turned away
+		assertThatThrownBy(() -> studentService.patchStudent(student.getId(), Map.of("address", "Oak St"),
+				student.getVersion())).isInstanceOf(PreconditionFailedException.class);
+		assertThat(studentRepository.findById(student.getId()).orElseThrow().getAddress()).isEqualTo("Elm St");
+	}
+
+	@Test
+	void patchAppliedToAStaleCachedRowIsRetriedOnTheCurrentOne() {
+		Student student = studentRepository.save(new Student(null, "Ann", "Lee", "patch-4", "Main St", null, 0));
+		studentService.getStudentById(student.getId());
+		// Changed behind the cache, as by another instance
+		Student changed = studentRepository.findById(student.getId()).orElseThrow();
+		changed.setFName("Anna");
+		changed = studentRepository.save(changed);
+
+		StudentDTO patched = studentService.patchStudent(student.getId(), Map.of("address", "Elm St"), null);
+
+		assertThat(patched.getFName()).isEqualTo("Anna");
+		assertThat(patched.getAddress()).isEqualTo("Elm St");
+		assertThat(patched.getVersion()).isEqualTo(changed.getVersion() + 1);
+		Student stored = studentRepository.findById(student.getId()).orElseThrow();
+		assertThat(stored.getFName()).isEqualTo("Anna");
+		assertThat(stored.getVersion()).isEqualTo(patched.getVersion());
+	}
+
+	@Test
+	void createWithTakenContactIsADuplicate() {
+		studentService.saveStudent(student("create-1"), null);
+
+		assertThatThrownBy(() -> studentService.saveStudent(student("create-1"), null))
+				.isInstanceOf(DuplicateResourceException.class);
+	}
+
+	@Test
+	void concurrentCreatesOfOneContactLeaveOneRowAndOneDuplicate() throws Exception {
+		CyclicBarrier start = new CyclicBarrier(2);
+		Callable<Object> create = () -> {
+			start.await();
+			try {
+				return studentService.saveStudent(student("create-2"), null);
+			} catch (RuntimeException e) {
+				return e;
+			}
+		};
+
+		List<Object> results = new ArrayList<>();
+		try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Future<Object> result : threads.invokeAll(List.of(create, create))) {
+				results.add(result.get());
+			}
+		}
+
+		assertThat(results).filteredOn(StudentDTO.class::isInstance).hasSize(1);
+		// The losing insert hit the unique index and is still reported as a duplicate
+		assertThat(results).filteredOn(DuplicateResourceException.class::isInstance).hasSize(1);
+		assertThat(studentRepository.existsByContact("create-2")).isTrue();
+	}
+
+	@Test
+	void patchRejectsTakenContactsAndUnknownFields() {
+		studentRepository.save(new Student(null, "Ann", "Lee", "patch-2", "Main St", null, 0));
+		Student other = studentRepository.save(new Student(null, "Ben", "Ray", "patch-3", "Main St", null, 0));
+
+		assertThatThrownBy(() -> studentService.patchStudent(other.getId(), Map.of("contact", "patch-2"), null))
+				.isInstanceOf(DuplicateResourceException.class);
+		assertThatThrownBy(() -> studentService.patchStudent(other.getId(), Map.of("picture", "x.png"), null))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static StudentDTO student(String contact) {
+		return new StudentDTO(null, "Ann", "Lee", contact, "Main St", null, null, null);
+	}
+}
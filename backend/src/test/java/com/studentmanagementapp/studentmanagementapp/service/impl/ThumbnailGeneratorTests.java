@@ -0,0 +1,134 @@
+package com.studentmanagementapp.studentmanagementapp.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ThumbnailGeneratorTests {
+
+	private static final Runnable NOTHING = () -> {
+	};
+
+	@Test
+	void storesSquareJpegOfEachSize() throws Exception {
+		ThumbnailGenerator generator = new ThumbnailGenerator(List.of(64, 256), 0.8f, 1, 4, 10);
+		Map<String, byte[]> stored = new ConcurrentHashMap<>();
+		CountDownLatch done = new CountDownLatch(2);
+
+		CountDownLatch complete = new CountDownLatch(1);
+		generator.submit("students/abc.png", () -> new ByteArrayInputStream(png(600, 400)), (key, jpeg, type) -> {
+			assertThat(type).isEqualTo("image/jpeg");
+			stored.put(key, jpeg);
+			done.countDown();
+		}, complete::countDown);
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(complete.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(stored).containsOnlyKeys("students/thumbs/64/abc.jpg", "students/thumbs/256/abc.jpg");
+		BufferedImage small = ImageIO.read(new ByteArrayInputStream(stored.get("students/thumbs/64/abc.jpg")));
+		assertThat(small.getWidth()).isEqualTo(64);
+		assertThat(small.getHeight()).isEqualTo(64);
+		generator.shutdown();
+	}
+
+	@Test
+	void storesNothingForContentThatIsNotAnImage() {
+		ThumbnailGenerator generator = new ThumbnailGenerator(List.of(64), 0.8f, 1, 4, 10);
+		Map<String, byte[]> stored = new ConcurrentHashMap<>();
+		AtomicBoolean completed = new AtomicBoolean();
+
+		generator.submit("students/abc.pdf", () -> new ByteArrayInputStream(new byte[] { 1, 2, 3 }),
+				(key, jpeg, type) -> stored.put(key, jpeg), () -> completed.set(true));
+		// Waits for the running job
+		generator.shutdown();
+
+		assertThat(stored).isEmpty();
+		assertThat(completed.get()).isFalse();
+	}
+
+	@Test
+	void saturatedGeneratorDefersInsteadOfWorkingOnTheCaller() throws Exception {
+		ThumbnailGenerator generator = new ThumbnailGenerator(List.of(64), 0.8f, 1, 1, 10);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		generator.bindTo(registry);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch secondDone = new CountDownLatch(1);
+		AtomicReference<Thread> secondThread = new AtomicReference<>();
+
+		generator.submit("students/a.png", blockedUntil(release, png(100, 100)), (key, jpeg, type) -> {
+		}, NOTHING);
+		generator.submit("students/b.png", () -> {
+			secondThread.set(Thread.currentThread());
+			return new ByteArrayInputStream(png(100, 100));
+		}, (key, jpeg, type) -> secondDone.countDown(), NOTHING);
+
+		// The caller returned without opening the second original
+		assertThat(secondThread.get()).isNull();
+		assertThat(registry.get("thumbnails.deferred").gauge().value()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(secondDone.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(secondThread.get()).isNotSameAs(Thread.currentThread());
+		assertThat(registry.get("thumbnails.deferred").gauge().value()).isZero();
+		generator.shutdown();
+	}
+
+	@Test
+	void fullDeferredQueueSkipsThePicture() throws Exception {
+		ThumbnailGenerator generator = new ThumbnailGenerator(List.of(64), 0.8f, 1, 1, 1);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		generator.bindTo(registry);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		Map<String, byte[]> stored = new ConcurrentHashMap<>();
+		ThumbnailGenerator.ThumbnailSink sink = (key, jpeg, type) -> {
+			stored.put(key, jpeg);
+			done.countDown();
+		};
+
+		generator.submit("students/a.png", blockedUntil(release, png(100, 100)), sink, NOTHING);
+		generator.submit("students/b.png", () -> new ByteArrayInputStream(png(100, 100)), sink, NOTHING);
+		generator.submit("students/c.png", () -> new ByteArrayInputStream(png(100, 100)), sink, NOTHING);
+
+		assertThat(registry.get("thumbnails.skipped").functionCounter().count()).isEqualTo(1);
+		release.countDown();
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(stored).containsOnlyKeys("students/thumbs/64/a.jpg", "students/thumbs/64/b.jpg");
+		generator.shutdown();
+	}
+
+	/** An original whose read waits for the latch, keeping its job running. */
+	private static ThumbnailGenerator.OriginalSource blockedUntil(CountDownLatch release, byte[] content) {
+		return () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			}
+			return new ByteArrayInputStream(content);
+		};
+	}
+
+	private static byte[] png(int width, int height) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", bytes);
+		return bytes.toByteArray();
+	}
+}
@@ -9,8 +9,15 @@ const apiClient = axios.create({
 });
 
 export default {
-  getAll() {
-    return apiClient.get('');
+  // Keyset-paginated list; pass the previous page's `next` as `cursor`.
+  // `fields` (e.g. 'id,fName') limits the columns read and returned.
+  getPage({ cursor = null, size = 50, sort = 'id', fields = null } = {}) {
+    return apiClient.get('', { params: { cursor, size, sort, fields } });
+  },
+
+  // Ranked server-side search over names, contact and address
+  search(q, limit = 20) {
+    return apiClient.get('/search', { params: { q, limit } });
   },
 
   getById(id) {
@@ -33,7 +40,33 @@ export default {
     });
   },
 
+  // JSON merge patch: only the given fields are written.
+  // Pass an ETag from getById as ifMatch to fail (412) if the student changed since.
+  patch(id, changes, ifMatch = null) {
+    return apiClient.patch(`/${id}`, changes, {
+      headers: {
+        'Content-Type': 'application/merge-patch+json',
+        ...(ifMatch ? { 'If-Match': ifMatch } : {}),
+      },
+    });
+  },
+
   delete(id) {
     return apiClient.delete(`/${id}`);
   },
+
+  // Server-sent events: created/updated/deleted deltas, or reset to reload.
+  // EventSource reconnects by itself and resumes with Last-Event-ID.
+  changes() {
+    return new EventSource('/api/v1/students/changes');
+  },
+
+  // Up to app.students.batch.max-ids per call; the response lists found and missing ids
+  batchGet(ids) {
+    return apiClient.post('/batch-get', { ids });
+  },
+
+  batchDelete(ids) {
+    return apiClient.post('/batch-delete', { ids });
+  },
 };